@@ -0,0 +1,7 @@
+package com.br.mobiauto.caching;
+
+/**
+ * An eviction made on one instance, replayed on the others. A null {@code key} clears the cache.
+ */
+public record CacheInvalidation(String cacheName, String key, String origin, long publishedAt) {
+}
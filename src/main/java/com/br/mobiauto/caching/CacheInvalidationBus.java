@@ -0,0 +1,15 @@
+package com.br.mobiauto.caching;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache evictions between instances. Delivery is best effort: an instance that misses a
+ * message keeps serving the entry from L1 until {@code l1-ttl} expires it, which is what bounds
+ * staleness.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
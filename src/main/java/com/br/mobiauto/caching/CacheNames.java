@@ -0,0 +1,16 @@
+package com.br.mobiauto.caching;
+
+public final class CacheNames {
+
+    // DealershipResponseDTO by dealership id
+    public static final String DEALERSHIPS = "dealerships";
+
+    // UserResponseDTO by email
+    public static final String USERS = "users";
+
+    // List<UserResponseDTO> by dealership id
+    public static final String DEALERSHIP_USERS = "dealershipUsers";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.br.mobiauto.caching;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.caching")
+public class CachingProperties {
+
+    // memory keeps the L2 tier in this instance, redis shares it between instances, none disables it
+    private String l2 = "memory";
+
+    // memory or redis; with more than one instance use redis, or other instances serve evicted entries until l1-ttl
+    private String invalidationBus = "memory";
+
+    // Per-cache settings by cache name; caches not listed use the defaults of CacheSpec
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    public CacheSpec spec(String cacheName) {
+        return caches.getOrDefault(cacheName, new CacheSpec());
+    }
+
+    @Data
+    public static class CacheSpec {
+
+        // Bounds how long an instance can serve an entry another instance has already evicted
+        private Duration l1Ttl = Duration.ofMinutes(1);
+
+        private long l1MaximumSize = 10_000;
+
+        private Duration l2Ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,29 @@
+package com.br.mobiauto.caching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to subscribers in this JVM only, synchronously. Enough for a single
+ * instance, and lets tests run several cache managers as if they were separate nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "mobiauto.caching.invalidation-bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,82 @@
+package com.br.mobiauto.caching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations over Redis pub/sub. Pub/sub is at-most-once: messages published while
+ * an instance is disconnected are lost, and that instance catches up through the L1 TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "mobiauto.caching.invalidation-bus", havingValue = "redis")
+public class RedisCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private static final ChannelTopic CHANNEL = new ChannelTopic("mobiauto:cache-invalidations");
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+                                     ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener((message, pattern) -> deliver(message.getBody()), CHANNEL);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL.getTopic(), objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Other instances fall back to the L1 TTL for this entry
+            log.warn("Could not publish invalidation of {} in {}: {}", invalidation.key(), invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void deliver(byte[] body) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(body, CacheInvalidation.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+}
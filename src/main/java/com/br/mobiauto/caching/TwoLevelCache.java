@@ -0,0 +1,201 @@
+package com.br.mobiauto.caching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Read-through cache with an in-process Caffeine tier in front of a shared tier. Reads try L1,
+ * then L2, then the loader; writes and evictions go to both. A failing L2 is logged and skipped,
+ * so an unreachable Redis degrades to L1-only caching instead of failing the request.
+ * <p>
+ * Evictions are also published on the {@link CacheInvalidationBus}, and other instances replay
+ * them through {@link #evictLocally} and {@link #clearLocally}. Keys are sent as strings.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final Cache l2;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final boolean sharedL2;
+    private final CacheInvalidationBus invalidationBus;
+    private final String origin;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> l1, Cache l2,
+                         MeterRegistry meterRegistry) {
+        this(name, l1, l2, false, null, null, meterRegistry);
+    }
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> l1, Cache l2,
+                         boolean sharedL2, CacheInvalidationBus invalidationBus, String origin,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.sharedL2 = sharedL2;
+        this.invalidationBus = invalidationBus;
+        this.origin = origin;
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, name, "level", "l1");
+        this.l2Hits = l2Counter(meterRegistry, name, "hit");
+        this.l2Misses = l2Counter(meterRegistry, name, "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = l2Get(key);
+        if (value != null) {
+            l1.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) l1.get(key, k -> {
+            Object value = l2Get(k);
+            if (value != null) {
+                return value;
+            }
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            if (value != null) {
+                l2Put(k, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        l2Put(key, value);
+        l1.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictL2(key);
+        l1.invalidate(key);
+        publish(String.valueOf(key));
+    }
+
+    @Override
+    public void clear() {
+        clearL2();
+        l1.invalidateAll();
+        publish(null);
+    }
+
+    /**
+     * Replays an eviction made on another instance. A shared L2 was already evicted there.
+     */
+    public void evictLocally(Object key) {
+        if (!sharedL2) {
+            evictL2(key);
+        }
+        l1.invalidate(key);
+    }
+
+    public void clearLocally() {
+        if (!sharedL2) {
+            clearL2();
+        }
+        l1.invalidateAll();
+    }
+
+    private void evictL2(Object key) {
+        if (l2 == null) {
+            return;
+        }
+        try {
+            l2.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} from L2 cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private void clearL2() {
+        if (l2 == null) {
+            return;
+        }
+        try {
+            l2.clear();
+        } catch (RuntimeException e) {
+            log.warn("Could not clear L2 cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void publish(String key) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(new CacheInvalidation(name, key, origin, System.currentTimeMillis()));
+        }
+    }
+
+    private Object l2Get(Object key) {
+        if (l2 == null) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = l2.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                l2Hits.increment();
+                return wrapper.get();
+            }
+        } catch (RuntimeException e) {
+            log.warn("L2 cache {} unavailable, reading through: {}", name, e.getMessage());
+        }
+        l2Misses.increment();
+        return null;
+    }
+
+    private void l2Put(Object key, Object value) {
+        if (l2 == null) {
+            return;
+        }
+        try {
+            l2.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} to L2 cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private static Counter l2Counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", name)
+                .tag("level", "l2")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.br.mobiauto.caching;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creates a {@link TwoLevelCache} per cache name on first use, sized and expired according to
+ * {@link CachingProperties}. {@code l2Caches} maps a cache name to its L2 tier, or to null when the
+ * cache runs on L1 alone; {@code sharedL2} tells whether that tier is shared between instances.
+ * <p>
+ * Evictions published by other instances are replayed here. {@code cache.invalidation.lag} times
+ * publish-to-apply, so together with {@code l1-ttl} it shows how stale a node can get.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CachingProperties properties;
+    private final Function<String, Cache> l2Caches;
+    private final boolean sharedL2;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Timer invalidationLag;
+
+    public TwoLevelCacheManager(CachingProperties properties, Function<String, Cache> l2Caches, boolean sharedL2,
+                                CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.l2Caches = l2Caches;
+        this.sharedL2 = sharedL2;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.invalidationLag = Timer.builder("cache.invalidation.lag")
+                .description("Time from an eviction on one instance to its replay on this one")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - invalidation.publishedAt()), TimeUnit.MILLISECONDS);
+        // A cache that was never created here holds nothing to evict
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.clearLocally();
+        } else {
+            cache.evictLocally(invalidation.key());
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        CachingProperties.CacheSpec spec = properties.spec(name);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> l1 = Caffeine.newBuilder()
+                .maximumSize(spec.getL1MaximumSize())
+                .expireAfterWrite(spec.getL1Ttl())
+                .recordStats()
+                .build();
+        return new TwoLevelCache(name, l1, l2Caches.apply(name), sharedL2, invalidationBus, nodeId, meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.mobiauto.configs;
+
+import com.br.mobiauto.caching.CacheInvalidationBus;
+import com.br.mobiauto.caching.CachingProperties;
+import com.br.mobiauto.caching.TwoLevelCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final String REDIS_KEY_PREFIX = "mobiauto:cache:";
+
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties, CacheInvalidationBus invalidationBus,
+                                     MeterRegistry meterRegistry, ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        switch (properties.getL2()) {
+            case "redis" -> {
+                RedisCacheManager redisCacheManager = redisCacheManager(properties, redisConnectionFactory.getObject());
+                return new TwoLevelCacheManager(properties, redisCacheManager::getCache, true, invalidationBus, meterRegistry);
+            }
+            case "none" -> {
+                return new TwoLevelCacheManager(properties, name -> null, false, invalidationBus, meterRegistry);
+            }
+            default -> {
+                // Stand-in for Redis on a single instance and in tests, bounded like L1 since it shares the heap
+                return new TwoLevelCacheManager(properties, name -> new CaffeineCache(name, Caffeine.newBuilder()
+                        .maximumSize(properties.spec(name).getL1MaximumSize())
+                        .expireAfterWrite(properties.spec(name).getL2Ttl())
+                        .build(), false), false, invalidationBus, meterRegistry);
+            }
+        }
+    }
+
+    private static RedisCacheManager redisCacheManager(CachingProperties properties, RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith(REDIS_KEY_PREFIX)
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.json()));
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults.entryTtl(new CachingProperties.CacheSpec().getL2Ttl()));
+        properties.getCaches().forEach((name, spec) ->
+                builder.withCacheConfiguration(name, defaults.entryTtl(spec.getL2Ttl())));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+}
@@ -1,42 +1,43 @@
 package com.br.mobiauto.configs;
 
 import com.br.mobiauto.modules.dealerships.models.Dealership;
-import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
 import com.br.mobiauto.modules.opportunities.models.Opportunity;
 import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
-import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
 import com.br.mobiauto.modules.users.models.User;
 import com.br.mobiauto.modules.users.models.enums.Role;
-import com.br.mobiauto.modules.users.repositories.UserRepository;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
+/**
+ * Demo fixtures for local runs, enabled with the {@code seed} profile. Each document is inserted
+ * only when its id is missing, so restarts keep existing data, indexes and any edits made to the
+ * fixtures.
+ */
 @Configuration
+@Profile("seed")
 public class DatabaseInitializer implements CommandLineRunner {
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private DealershipRepository dealershipRepository;
-
-    @Autowired
-    private OpportunityRepository opportunityRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
-    private MongoTemplate mongoTemplate;
+    private PasswordEncoder passwordEncoder;
 
     @Override
     public void run(String... args) throws Exception {
-        // Limpar coleções
-        mongoTemplate.getDb().drop();
-
         // Criar e salvar Dealerships
         Dealership dealership1 = Dealership.builder()
                 .id("dealership1")
@@ -50,36 +51,33 @@ public class DatabaseInitializer implements CommandLineRunner {
                 .corporateName("Dealership Two")
                 .build();
 
-        dealershipRepository.saveAll(Arrays.asList(dealership1, dealership2));
+        insertMissing(Dealership.class, Arrays.asList(dealership1, dealership2));
 
         // Criar e salvar Users
         User user1 = User.builder()
                 .id("user1")
                 .email("user1@example.com")
                 .name("User One")
-                .password("password1")
+                .password(passwordEncoder.encode("password1"))
                 .role(Role.ADMIN)
-                .dealership(dealership1)
+                .dealershipId(dealership1.getId())
                 .build();
 
         User user2 = User.builder()
                 .id("user2")
                 .email("user2@example.com")
                 .name("User Two")
-                .password("password2")
+                .password(passwordEncoder.encode("password2"))
                 .role(Role.ADMIN)
-                .dealership(dealership2)
+                .dealershipId(dealership2.getId())
                 .build();
 
-        userRepository.saveAll(Arrays.asList(user1, user2));
-
-        // Atualizar Dealerships com Users
-        dealership1.setUsers(Collections.singletonList(user1));
-        dealership2.setUsers(Collections.singletonList(user2));
-
-        dealershipRepository.saveAll(Arrays.asList(dealership1, dealership2));
+        insertMissing(User.class, Arrays.asList(user1, user2));
 
         // Criar e salvar Opportunities
+        // Bulk upserts bypass auditing, so createdDate and lastModifiedDate are set here
+        Date now = new Date();
+
         Opportunity opportunity1 = Opportunity.builder()
                 .id("opportunity1")
                 .name("Opportunity One")
@@ -90,8 +88,11 @@ public class DatabaseInitializer implements CommandLineRunner {
                 .version("Version One")
                 .yearModel(2021)
                 .status(OpportunityStatus.IN_PROGRESS)
-                .assignedDate(new Date())
-                .user(user1)
+                .assignedDate(now)
+                .userId(user1.getId())
+                .userName(user1.getName())
+                .createdDate(now)
+                .lastModifiedDate(now)
                 .build();
 
         Opportunity opportunity2 = Opportunity.builder()
@@ -105,10 +106,27 @@ public class DatabaseInitializer implements CommandLineRunner {
                 .yearModel(2022)
                 .status(OpportunityStatus.COMPLETED)
                 .conclusionReason("Sold")
-                .conclusionDate(new Date())
-                .user(user2)
+                .conclusionDate(now)
+                .userId(user2.getId())
+                .userName(user2.getName())
+                .createdDate(now)
+                .lastModifiedDate(now)
                 .build();
 
-        opportunityRepository.saveAll(Arrays.asList(opportunity1, opportunity2));
+        insertMissing(Opportunity.class, Arrays.asList(opportunity1, opportunity2));
+    }
+
+    // Upsert by id with $setOnInsert: one round trip per collection, and existing documents are left untouched
+    private <T> void insertMissing(Class<T> type, List<T> documents) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (T document : documents) {
+            Document fields = new Document();
+            mongoTemplate.getConverter().write(document, fields);
+            Object id = fields.remove("_id");
+            Update update = new Update();
+            fields.forEach(update::setOnInsert);
+            bulkOperations.upsert(Query.query(Criteria.where("_id").is(id)), update);
+        }
+        bulkOperations.execute();
     }
 }
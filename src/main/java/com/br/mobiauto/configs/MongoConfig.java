@@ -1,24 +1,45 @@
 package com.br.mobiauto.configs;
 
+import com.br.mobiauto.monitoring.SlowQueryListener;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableMongoAuditing
 @EnableMongoRepositories(basePackages = "com.br.mobiauto")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.uri}")
     private String uri;
 
+    @Value("${spring.data.mongodb.auto-index-creation:true}")
+    private boolean autoIndexCreation;
+
+    @Autowired
+    private MongoPoolProperties poolProperties;
+
+    // The client is built here rather than by Boot, so its Mongo metrics have to be wired here too
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowQueryListener slowQueryListener;
+
     @Override
     protected String getDatabaseName() {
         return new ConnectionString(uri).getDatabase();
@@ -26,12 +47,28 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
     public MongoClient mongoClient() {
-        ConnectionString connectionString = new ConnectionString(uri);
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .applyConnectionString(connectionString)
+        return MongoClients.create(clientSettings(uri, poolProperties, meterRegistry, slowQueryListener));
+    }
+
+    // Shared with ReactiveMongoConfig, so both clients get the same pool limits and instrumentation
+    static MongoClientSettings clientSettings(String uri, MongoPoolProperties poolProperties, MeterRegistry meterRegistry,
+                                              SlowQueryListener slowQueryListener) {
+        return MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(poolProperties.getMaxSize())
+                        .minSize(poolProperties.getMinSize())
+                        .maxConnecting(poolProperties.getMaxConnecting())
+                        .maxWaitTime(poolProperties.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)))
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .addCommandListener(slowQueryListener)
                 .build();
+    }
 
-        return MongoClients.create(mongoClientSettings);
+    @Override
+    protected boolean autoIndexCreation() {
+        return autoIndexCreation;
     }
 
     @Override
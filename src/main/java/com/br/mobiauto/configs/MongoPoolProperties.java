@@ -0,0 +1,25 @@
+package com.br.mobiauto.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.mongodb.pool")
+public class MongoPoolProperties {
+
+    // With virtual threads the request count is no longer capped by Tomcat's pool, so this is
+    // what bounds concurrent Mongo work
+    private int maxSize = 100;
+
+    private int minSize = 10;
+
+    // Connections being opened at once; bounds the handshake storm after a restart
+    private int maxConnecting = 4;
+
+    // Callers beyond maxSize wait this long for a connection, then get a 503
+    private Duration maxWaitTime = Duration.ofSeconds(2);
+}
@@ -0,0 +1,57 @@
+package com.br.mobiauto.configs;
+
+import com.br.mobiauto.monitoring.SlowQueryListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive-streams client for the {@code reactive} profile, next to the blocking one from
+ * {@link MongoConfig}. Boot's reactive Mongo auto-configuration is excluded in application.yml so
+ * the client only exists with the profile; the mapping context and conversions are shared.
+ */
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoAuditing
+@EnableReactiveMongoRepositories(basePackages = "com.br.mobiauto")
+public class ReactiveMongoConfig {
+
+    @Value("${spring.data.mongodb.uri}")
+    private String uri;
+
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient(MongoPoolProperties poolProperties, MeterRegistry meterRegistry,
+                                           SlowQueryListener slowQueryListener) {
+        return MongoClients.create(MongoConfig.clientSettings(uri, poolProperties, meterRegistry, slowQueryListener));
+    }
+
+    @Bean
+    public ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory(MongoClient reactiveMongoClient) {
+        return new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, new ConnectionString(uri).getDatabase());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+                                                       MongoMappingContext mongoMappingContext,
+                                                       MongoCustomConversions customConversions) {
+        // DBRefs cannot be resolved without blocking; no document here uses them
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mongoMappingContext);
+        converter.setCustomConversions(customConversions);
+        converter.afterPropertiesSet();
+        return new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, converter);
+    }
+}
@@ -0,0 +1,89 @@
+package com.br.mobiauto.configs;
+
+import com.br.mobiauto.modules.opportunities.controllers.ReactiveOpportunityHandler;
+import com.br.mobiauto.security.filters.ReactiveSecurityFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * The WebFlux routes of the {@code reactive} profile. The servlet stack stays the application's
+ * web server, so Boot does not start a reactive one; these routes get their own Netty server on
+ * {@code mobiauto.reactive.port}, next to the servlet and management ports.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveOpportunityRoutes(ReactiveOpportunityHandler handler,
+                                                                    ReactiveSecurityFilter securityFilter) {
+        return RouterFunctions.route()
+                .path("/api/opportunities", builder -> builder
+                        .GET("", handler::getAllOpportunities)
+                        .GET("/{id}", handler::getOpportunityById)
+                        .POST("", handler::createOpportunity)
+                        .PATCH("/{id}/status", handler::updateOpportunityStatus)
+                        .PATCH("/{id}/assign", handler::assignOpportunity))
+                .onError(Exception.class, handler::handleError)
+                .filter(securityFilter.hasAnyRole("ADMIN", "OWNER", "MANAGER"))
+                .build();
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(RouterFunction<ServerResponse> reactiveOpportunityRoutes, ObjectMapper objectMapper,
+                                               @Value("${mobiauto.reactive.port:8082}") int port) {
+        // Same Jackson settings as the servlet controllers, so both stacks write the same JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        WebServer webServer = new NettyReactiveWebServerFactory(port)
+                .getWebServer(RouterFunctions.toHttpHandler(reactiveOpportunityRoutes, strategies));
+        return new ReactiveApiServer(webServer);
+    }
+
+    public static class ReactiveApiServer implements SmartLifecycle {
+
+        private final WebServer webServer;
+        private volatile boolean running;
+
+        ReactiveApiServer(WebServer webServer) {
+            this.webServer = webServer;
+        }
+
+        @Override
+        public void start() {
+            webServer.start();
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+            webServer.stop();
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        public int getPort() {
+            return webServer.getPort();
+        }
+    }
+}
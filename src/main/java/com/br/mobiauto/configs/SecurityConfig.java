@@ -1,16 +1,27 @@
 package com.br.mobiauto.configs;
 
 import com.br.mobiauto.security.filters.SecurityFilter;
+import com.br.mobiauto.security.passwords.BCryptCostCalibrator;
+import com.br.mobiauto.security.passwords.PasswordHashingProperties;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
@@ -19,6 +30,9 @@ public class SecurityConfig {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     private static final String[] PERMIT_ALL_LIST = {
             "/swagger-ui/**",
             "/v3/api-docs/**",
@@ -28,7 +42,7 @@ public class SecurityConfig {
             "/swagger-resources",
             "/swagger-ui.html",
             "/webjars/**",
-            "/actuator/**",
+            "/actuator/health/**",
             "/api/auth/**"
     };
 
@@ -36,15 +50,40 @@ public class SecurityConfig {
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> {
+                    // The export streams its body on an async dispatch, after the request dispatch has
+                    // already been authorized; the JWT is not re-read there. Other async dispatches are checked.
+                    auth.requestMatchers(exportAsyncDispatch()).permitAll();
                     auth.requestMatchers(PERMIT_ALL_LIST).permitAll();
+                    // Scrapes come in without a JWT, so they are only let through on the management port,
+                    // which compose publishes on loopback only; on any other port the endpoint needs a token.
+                    auth.requestMatchers(prometheusScrape(managementPort)).permitAll();
                     auth.anyRequest().authenticated();
                 })
                 .addFilterBefore(securityFilter, BasicAuthenticationFilter.class);
         return http.build();
     }
 
+    static RequestMatcher exportAsyncDispatch() {
+        return new AndRequestMatcher(
+                request -> request.getDispatcherType() == DispatcherType.ASYNC,
+                AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/opportunities/export"));
+    }
+
+    static RequestMatcher prometheusScrape(int managementPort) {
+        return new AndRequestMatcher(
+                request -> managementPort > 0 && request.getLocalPort() == managementPort,
+                AntPathRequestMatcher.antMatcher("/actuator/prometheus"));
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() > 0
+                ? properties.getStrength()
+                : BCryptCostCalibrator.calibrate(properties.getTargetHashTime(), properties.getMinStrength(), properties.getMaxStrength());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        // Hashes stored before the {id} prefix are plain BCrypt; they are re-encoded on login.
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 }
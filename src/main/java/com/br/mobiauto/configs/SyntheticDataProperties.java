@@ -0,0 +1,51 @@
+package com.br.mobiauto.configs;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "mobiauto.seed.synthetic")
+public class SyntheticDataProperties {
+
+    @Min(1)
+    private int dealerships = 100;
+
+    // One owner, one manager and the rest assistants
+    @Min(value = 3, message = "must be at least 3: one owner, one manager and one assistant")
+    private int usersPerDealership = 20;
+
+    @Min(1)
+    private int opportunities = 1_000_000;
+
+    // Share of opportunities left unassigned, for the distributor to pick up
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double unassignedRatio = 0.2;
+
+    // Documents per insertMany
+    @Min(1)
+    private int batchSize = 10_000;
+
+    // Concurrent insertMany calls
+    @Min(1)
+    private int parallelism = 4;
+
+    // Every synthetic user logs in with this password
+    @NotBlank
+    private String password = "synthetic";
+
+    // Users are numbered with an int index, so their total must fit in one
+    @AssertTrue(message = "dealerships * users-per-dealership must not exceed " + Integer.MAX_VALUE)
+    public boolean isUserCountInRange() {
+        return (long) dealerships * usersPerDealership <= Integer.MAX_VALUE;
+    }
+}
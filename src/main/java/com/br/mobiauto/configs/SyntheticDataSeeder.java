@@ -0,0 +1,198 @@
+package com.br.mobiauto.configs;
+
+import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Generates a synthetic dataset for load tests, enabled with the {@code synthetic-seed} profile.
+ * Documents are mapped once and written with unordered {@code insertMany} batches in parallel,
+ * bypassing the repositories. Ids are derived from each document's position, so a second run
+ * skips what is already there instead of duplicating it.
+ */
+@Component
+@Profile("synthetic-seed")
+@RequiredArgsConstructor
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    private static final int ID_TIMESTAMP = 1_704_067_200; // 2024-01-01T00:00:00Z
+    private static final byte DEALERSHIP = 1;
+    private static final byte USER = 2;
+    private static final byte OPPORTUNITY = 3;
+
+    private static final String[] BRANDS = {"Fiat", "Volkswagen", "Chevrolet", "Toyota", "Hyundai", "Jeep", "Renault", "Honda"};
+    private static final String[] MODELS = {"Hatch", "Sedan", "SUV", "Pickup"};
+    private static final String[] VERSIONS = {"Base", "Comfort", "Premium"};
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SyntheticDataProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.currentTimeMillis();
+        int usersPerDealership = properties.getUsersPerDealership();
+        // One hash for everyone; BCrypt at the calibrated cost would otherwise dominate the run
+        String password = passwordEncoder.encode(properties.getPassword());
+        Date createdDate = new Date();
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism());
+        try {
+            long dealerships = insert(executor, Dealership.class, properties.getDealerships(), this::dealership);
+            long users = insert(executor, User.class, Math.multiplyExact(properties.getDealerships(), usersPerDealership),
+                    i -> user(i, usersPerDealership, password));
+            long opportunities = insert(executor, Opportunity.class, properties.getOpportunities(),
+                    i -> opportunity(i, usersPerDealership, createdDate));
+            log.info("Seeded {} dealerships, {} users and {} opportunities in {} ms",
+                    dealerships, users, opportunities, System.currentTimeMillis() - startedAt);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    Dealership dealership(int index) {
+        return Dealership.builder()
+                .id(id(DEALERSHIP, index))
+                .cnpj(String.format("%014d", 90_000_000_000_000L + index))
+                .corporateName("Synthetic Dealership " + index)
+                .build();
+    }
+
+    User user(int index, int usersPerDealership, String password) {
+        int dealership = index / usersPerDealership;
+        int position = index % usersPerDealership;
+        Role role = position == 0 ? Role.OWNER : position == 1 ? Role.MANAGER : Role.ASSISTANT;
+        return User.builder()
+                .id(id(USER, index))
+                .email("user-" + index + "@synthetic.mobiauto.test")
+                .name("Synthetic User " + index)
+                .password(password)
+                .role(role)
+                .dealershipId(id(DEALERSHIP, dealership))
+                .build();
+    }
+
+    Opportunity opportunity(int index, int usersPerDealership, Date createdDate) {
+        int dealership = index % properties.getDealerships();
+        Opportunity.OpportunityBuilder opportunity = Opportunity.builder()
+                .id(id(OPPORTUNITY, index))
+                .name("Synthetic Client " + index)
+                .email("client-" + index + "@synthetic.mobiauto.test")
+                .phone("11" + (900_000_000 + index))
+                .brand(BRANDS[index % BRANDS.length])
+                .model(MODELS[index % MODELS.length])
+                .version(VERSIONS[index % VERSIONS.length])
+                .yearModel(2015 + index % 10)
+                .dealershipId(id(DEALERSHIP, dealership))
+                .createdDate(createdDate)
+                .lastModifiedDate(createdDate);
+
+        // Spread evenly: every 1/unassignedRatio-th lead stays in the distribution backlog
+        if (isUnassigned(index)) {
+            return opportunity.status(OpportunityStatus.NEW).build();
+        }
+        int assistants = usersPerDealership - 2;
+        int assistant = (index / properties.getDealerships()) % assistants;
+        int userIndex = dealership * usersPerDealership + 2 + assistant;
+        OpportunityStatus status = OpportunityStatus.values()[index % OpportunityStatus.values().length];
+        opportunity.userId(id(USER, userIndex))
+                .userName("Synthetic User " + userIndex)
+                .assignedDate(createdDate)
+                .status(status);
+        if (status == OpportunityStatus.COMPLETED) {
+            opportunity.conclusionReason("Sold").conclusionDate(createdDate);
+        }
+        return opportunity.build();
+    }
+
+    private boolean isUnassigned(int index) {
+        double ratio = properties.getUnassignedRatio();
+        return ratio > 0 && Math.floor((index + 1) * ratio) > Math.floor(index * ratio);
+    }
+
+    static String id(byte type, int index) {
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt(ID_TIMESTAMP)
+                .put(type)
+                .put(new byte[3])
+                .putInt(index)
+                .array()).toHexString();
+    }
+
+    private <T> long insert(ExecutorService executor, Class<T> type, int count, IntFunction<T> generator) {
+        int batchSize = properties.getBatchSize();
+        List<CompletableFuture<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < count; from += batchSize) {
+            int batchStart = from;
+            int batchEnd = Math.min(from + batchSize, count);
+            batches.add(CompletableFuture.supplyAsync(() -> insertBatch(type, batchStart, batchEnd, generator), executor));
+        }
+        long inserted = 0;
+        for (CompletableFuture<Long> batch : batches) {
+            inserted += join(batch);
+        }
+        return inserted;
+    }
+
+    private <T> long insertBatch(Class<T> type, int from, int to, IntFunction<T> generator) {
+        List<Document> documents = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(generator.apply(i), document);
+            documents.add(document);
+        }
+        try {
+            return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                    .insertMany(documents, new InsertManyOptions().ordered(false))
+                    .getInsertedIds().size();
+        } catch (MongoBulkWriteException e) {
+            // Rows left by an earlier run: keep going, anything else is a real failure
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            return e.getWriteResult().getInsertedCount();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
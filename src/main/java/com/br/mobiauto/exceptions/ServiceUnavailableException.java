@@ -0,0 +1,7 @@
+package com.br.mobiauto.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.br.mobiauto.exceptions;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,16 @@
 package com.br.mobiauto.exceptions.handlers;
 
+import com.br.mobiauto.exceptions.BadRequestException;
 import com.br.mobiauto.exceptions.ConflictException;
 import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.exceptions.ServiceUnavailableException;
+import com.br.mobiauto.exceptions.TooManyRequestsException;
+import com.br.mobiauto.exceptions.UnauthorizedException;
 import com.br.mobiauto.exceptions.dtos.ErrorResponseDTO;
+import com.mongodb.MongoTimeoutException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,12 +31,56 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponseDTO> handleBadRequestException(BadRequestException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<ErrorResponseDTO> handleConflictException(ConflictException ex) {
         return buildErrorResponse(ex, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(UnauthorizedException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<ErrorResponseDTO> handleUnauthorizedException(UnauthorizedException ex) {
+        return buildErrorResponse(ex, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponseDTO> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDataAccessResourceFailureException(DataAccessResourceFailureException ex) {
+        // A timeout waiting for a pooled connection or a server is worth retrying later;
+        // socket and other resource errors are handled like any other exception
+        if (isMongoTimeout(ex)) {
+            return buildErrorResponse(new ServiceUnavailableException("Database is busy, try again later"), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return handleGlobalException(ex);
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponseDTO> handleDuplicateKeyException(DuplicateKeyException ex) {
+        // A concurrent write won the race past the service's own existence check; the unique index rejected this one
+        return buildErrorResponse(new ConflictException("Resource already exists"), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(), LocalDateTime.now().toString());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -44,6 +96,16 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
     }
 
+    private static boolean isMongoTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            // The driver throws this one type for both pool waits past max-wait-time and server selection timeouts
+            if (cause instanceof MongoTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private ResponseEntity<ErrorResponseDTO> buildErrorResponse(Exception ex, HttpStatus httpStatus) {
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(httpStatus.value(), ex.getMessage(), LocalDateTime.now().toString());
         return new ResponseEntity<>(errorResponse, httpStatus);
@@ -0,0 +1,160 @@
+package com.br.mobiauto.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves documents written with the former {@code @DBRef} links to the embedded ids: users get
+ * {@code dealershipId}, opportunities get {@code userId}/{@code userName} and dealerships drop their
+ * {@code users} array. Each step is recorded in the {@code migrations} collection, and only documents
+ * still holding the old field are touched, so running it again is harmless.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReferenceDenormalizationMigration implements ApplicationRunner {
+
+    static final String DENORMALIZE_REFERENCES = "denormalize-references";
+    static final String DROP_DEALERSHIP_USERS = "drop-dealership-users";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        apply(DENORMALIZE_REFERENCES, () -> {
+            migrateUsers();
+            migrateOpportunities();
+        });
+        apply(DROP_DEALERSHIP_USERS, () -> mongoTemplate.getCollection("dealerships")
+                .updateMany(Filters.exists("users"), Updates.unset("users")));
+    }
+
+    private void apply(String migrationId, Runnable migration) {
+        MongoCollection<Document> migrations = mongoTemplate.getCollection("migrations");
+        if (migrations.countDocuments(Filters.eq("_id", migrationId)) > 0) {
+            return;
+        }
+        migration.run();
+        migrations.updateOne(Filters.eq("_id", migrationId), Updates.set("appliedAt", new Date()),
+                new UpdateOptions().upsert(true));
+    }
+
+    private void migrateUsers() {
+        MongoCollection<Document> users = mongoTemplate.getCollection("users");
+        List<WriteModel<Document>> updates = new ArrayList<>(BATCH_SIZE);
+        try (MongoCursor<Document> cursor = users.find(Filters.exists("dealership"))
+                .projection(Projections.include("dealership"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document user = cursor.next();
+                updates.add(new UpdateOneModel<>(Filters.eq("_id", user.get("_id")), Updates.combine(
+                        Updates.set("dealershipId", referencedId(user.get("dealership"))),
+                        Updates.unset("dealership"))));
+                if (updates.size() == BATCH_SIZE) {
+                    flush(users, updates);
+                }
+            }
+        }
+        flush(users, updates);
+    }
+
+    private void migrateOpportunities() {
+        MongoCollection<Document> opportunities = mongoTemplate.getCollection("opportunities");
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (MongoCursor<Document> cursor = opportunities.find(Filters.exists("user"))
+                .projection(Projections.include("user"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BATCH_SIZE) {
+                    migrateOpportunityBatch(opportunities, batch);
+                }
+            }
+        }
+        migrateOpportunityBatch(opportunities, batch);
+    }
+
+    private void migrateOpportunityBatch(MongoCollection<Document> opportunities, List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object> userIds = new ArrayList<>(batch.size());
+        for (Document opportunity : batch) {
+            Object userId = rawReferencedId(opportunity.get("user"));
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        Map<String, String> userNames = new HashMap<>();
+        mongoTemplate.getCollection("users").find(Filters.in("_id", userIds))
+                .projection(Projections.include("name"))
+                .forEach(user -> userNames.put(idToString(user.get("_id")), user.getString("name")));
+
+        List<WriteModel<Document>> updates = new ArrayList<>(batch.size());
+        for (Document opportunity : batch) {
+            String userId = referencedId(opportunity.get("user"));
+            updates.add(new UpdateOneModel<>(Filters.eq("_id", opportunity.get("_id")), Updates.combine(
+                    Updates.set("userId", userId),
+                    Updates.set("userName", userId == null ? null : userNames.get(userId)),
+                    Updates.unset("user"))));
+        }
+        flush(opportunities, updates);
+        batch.clear();
+    }
+
+    private static void flush(MongoCollection<Document> collection, List<WriteModel<Document>> updates) {
+        if (!updates.isEmpty()) {
+            collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+            updates.clear();
+        }
+    }
+
+    // Handles DBRefs as well as the bare ids written by init-mongodb.js.
+    private static Object rawReferencedId(Object reference) {
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (reference instanceof Document document) {
+            return document.get("$id");
+        }
+        return reference;
+    }
+
+    private static String referencedId(Object reference) {
+        return idToString(rawReferencedId(reference));
+    }
+
+    private static String idToString(Object id) {
+        if (id == null) {
+            return null;
+        }
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+}
@@ -3,6 +3,7 @@ package com.br.mobiauto.modules.auth.controllers;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.br.mobiauto.modules.auth.dtos.AuthRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.AuthResponseDTO;
+import com.br.mobiauto.modules.auth.dtos.RefreshTokenRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.RegisterRequestDTO;
 import com.br.mobiauto.modules.auth.services.AuthService;
 import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -31,16 +33,42 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully logged in",
                     content = @Content(schema = @Schema(implementation = AuthResponseDTO.class),
-                            examples = @ExampleObject(value = "{\"token\": \"jwtToken\"}"))),
-            @ApiResponse(responseCode = "404", description = "User not found"),
-            @ApiResponse(responseCode = "422", description = "Validation error")
+                            examples = @ExampleObject(value = "{\"token\": \"jwtToken\", \"refreshToken\": \"refreshToken\", \"expiresIn\": 600}"))),
+            @ApiResponse(responseCode = "401", description = "Invalid email or password"),
+            @ApiResponse(responseCode = "422", description = "Validation error"),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this account or address")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody AuthRequestDTO authRequestDTO) {
-        AuthResponseDTO authResponseDTO = authService.login(authRequestDTO);
+    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody AuthRequestDTO authRequestDTO, HttpServletRequest request) {
+        AuthResponseDTO authResponseDTO = authService.login(authRequestDTO, request.getRemoteAddr());
         return new ResponseEntity<>(authResponseDTO, HttpStatus.OK);
     }
 
+    @Operation(summary = "Refresh Token", description = "Exchange a refresh token for a new token pair; the refresh token can be used once")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "New tokens issued",
+                    content = @Content(schema = @Schema(implementation = AuthResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"token\": \"jwtToken\", \"refreshToken\": \"refreshToken\", \"expiresIn\": 600}"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized: Invalid, expired or already used refresh token"),
+            @ApiResponse(responseCode = "422", description = "Validation error")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        AuthResponseDTO authResponseDTO = authService.refresh(refreshTokenRequestDTO);
+        return new ResponseEntity<>(authResponseDTO, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Logout", description = "Revoke a refresh token")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Refresh token revoked"),
+            @ApiResponse(responseCode = "422", description = "Validation error")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        authService.logout(refreshTokenRequestDTO);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(summary = "User Registration", description = "Register a new user")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "User successfully registered",
@@ -11,4 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AuthResponseDTO {
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
 }
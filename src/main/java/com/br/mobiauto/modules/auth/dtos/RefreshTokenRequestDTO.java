@@ -0,0 +1,19 @@
+package com.br.mobiauto.modules.auth.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -1,47 +1,128 @@
 package com.br.mobiauto.modules.auth.services;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.exceptions.UnauthorizedException;
 import com.br.mobiauto.modules.auth.dtos.AuthRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.AuthResponseDTO;
+import com.br.mobiauto.modules.auth.dtos.RefreshTokenRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.RegisterRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
-import com.br.mobiauto.modules.users.mappers.UserMapper;
 import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
 import com.br.mobiauto.modules.users.services.IUserService;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import com.br.mobiauto.security.passwords.PasswordHashingService.PasswordCheck;
+import com.br.mobiauto.security.providers.JWTProperties;
 import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
+import com.br.mobiauto.security.revocation.TokenRevocationStore;
+import com.br.mobiauto.security.throttling.LoginThrottle;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final IUserService userService;
+    private final UserRepository userRepository;
     private final JWTProvider jwtProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JWTProperties jwtProperties;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+
+    public AuthResponseDTO login(AuthRequestDTO authRequestDTO, String clientAddress) {
+        String email = authRequestDTO.getEmail();
+        // Reserved up front, so the attempt counts as a failure until the password is known to match
+        loginThrottle.reserveAttempt(email, clientAddress);
+
+        Optional<User> user;
+        PasswordCheck passwordCheck;
+        try {
+            user = userRepository.findByEmail(email);
+            passwordCheck = passwordHashingService.verify(
+                    authRequestDTO.getPassword(), user.map(User::getPassword).orElse(null));
+        } catch (RuntimeException e) {
+            loginThrottle.releaseAttempt(email, clientAddress);
+            throw e;
+        }
+        if (!passwordCheck.matches()) {
+            throw new UnauthorizedException("Invalid email or password");
+        }
+        loginThrottle.recordSuccess(email, clientAddress);
+
+        User authenticated = user.get();
+        if (passwordCheck.upgradedHash() != null) {
+            authenticated.setPassword(passwordCheck.upgradedHash());
+            userRepository.save(authenticated);
+        }
+        return issueTokens(authenticated.getEmail(), authenticated.getRole().name(), Instant.now());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The presented refresh token is
+     * revoked in the same step, so it can be exchanged only once. The role is read again from the
+     * stored user, so a deleted user or a changed role takes effect on the next exchange, and the
+     * session start is carried over so rotation never extends the session.
+     */
+    public AuthResponseDTO refresh(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        DecodedJWT refreshToken = jwtProvider.validateRefreshToken(refreshTokenRequestDTO.getRefreshToken());
+        Instant sessionStart = refreshToken == null ? null
+                : refreshToken.getClaim(JWTProvider.AUTH_TIME_CLAIM).asInstant();
+        if (sessionStart == null || refreshToken.getId() == null
+                || Instant.now().isAfter(sessionStart.plus(jwtProperties.getMaxSessionLifetime()))
+                || !tokenRevocationStore.revoke(refreshToken.getId(), refreshToken.getExpiresAtAsInstant())) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
 
-    public AuthResponseDTO login(AuthRequestDTO authRequestDTO) {
-        UserResponseDTO user = this.userService.getUserByEmail(authRequestDTO.getEmail());
-        String token = jwtProvider.generateToken(user.getEmail(), user.getRole().name());
-        return new AuthResponseDTO(token);
+        UserResponseDTO user;
+        try {
+            user = userService.getUserByEmail(refreshToken.getSubject());
+        } catch (NotFoundException e) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        return issueTokens(user.getEmail(), user.getRole().name(), sessionStart);
+    }
+
+    /**
+     * Revokes the refresh token and every access token of the user issued so far. Other sessions of
+     * the same user keep their refresh tokens and get a new access token on their next refresh.
+     */
+    public void logout(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        DecodedJWT refreshToken = jwtProvider.validateRefreshToken(refreshTokenRequestDTO.getRefreshToken());
+        if (refreshToken != null && refreshToken.getId() != null) {
+            tokenRevocationStore.revoke(refreshToken.getId(), refreshToken.getExpiresAtAsInstant());
+            tokenAuthenticationCache.revokeUser(refreshToken.getSubject());
+        }
     }
 
     public UserResponseDTO register(RegisterRequestDTO registerRequestDTO) {
+        // saveUser hashes the password; hashing it here as well stored a hash of the hash.
         UserRequestDTO userRequestDTO = UserRequestDTO.builder()
                 .name(registerRequestDTO.getName())
                 .email(registerRequestDTO.getEmail())
-                .password(passwordEncoder.encode(registerRequestDTO.getPassword()))
+                .password(registerRequestDTO.getPassword())
                 .role(registerRequestDTO.getRole())
                 .dealershipId(registerRequestDTO.getDealershipId())
                 .build();
-        User user = UserMapper.toUserEntity(userRequestDTO);
-
-        UserResponseDTO savedUser = userService.saveUser(userRequestDTO);
-        return new UserResponseDTO(user.getId(), user.getName(), user.getEmail(), user.getRole());
+        return userService.saveUser(userRequestDTO);
     }
 
     public DecodedJWT validateToken(String token) {
         return jwtProvider.validateToken(token);
     }
+
+    private AuthResponseDTO issueTokens(String email, String role, Instant sessionStart) {
+        return AuthResponseDTO.builder()
+                .token(jwtProvider.generateToken(email, role))
+                .refreshToken(jwtProvider.generateRefreshToken(email, sessionStart))
+                .expiresIn(jwtProperties.getAccessTokenTtl().toSeconds())
+                .build();
+    }
 }
@@ -3,6 +3,7 @@ package com.br.mobiauto.modules.dealerships.controllers;
 import com.br.mobiauto.modules.dealerships.dtos.DealershipRequestDTO;
 import com.br.mobiauto.modules.dealerships.dtos.DealershipResponseDTO;
 import com.br.mobiauto.modules.dealerships.services.IDealershipService;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -32,7 +33,7 @@ public class DealershipController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved dealerships",
                     content = @Content(schema = @Schema(implementation = DealershipResponseDTO.class),
-                            examples = @ExampleObject(value = "[{\"id\": \"1\", \"cnpj\": \"12345678000190\", \"corporateName\": \"Dealership Name\"}]")))
+                            examples = @ExampleObject(value = "[{\"id\": \"1\", \"cnpj\": \"12345678000190\", \"corporateName\": \"Dealership Name\", \"userCount\": 3}]")))
     })
     @GetMapping
     public ResponseEntity<List<DealershipResponseDTO>> getAllDealerships() {
@@ -45,7 +46,7 @@ public class DealershipController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved dealership",
                     content = @Content(schema = @Schema(implementation = DealershipResponseDTO.class),
-                            examples = @ExampleObject(value = "{\"id\": \"1\", \"cnpj\": \"12345678000190\", \"corporateName\": \"Dealership Name\"}"))),
+                            examples = @ExampleObject(value = "{\"id\": \"1\", \"cnpj\": \"12345678000190\", \"corporateName\": \"Dealership Name\", \"userCount\": 3}"))),
             @ApiResponse(responseCode = "404", description = "Dealership not found")
     })
     @GetMapping("/{id}")
@@ -54,6 +55,23 @@ public class DealershipController {
         return new ResponseEntity<>(dealership, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    @Operation(summary = "Get the users of a dealership", description = "Retrieve a page of the users that belong to a dealership")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved users",
+                    content = @Content(schema = @Schema(implementation = UserResponseDTO.class),
+                            examples = @ExampleObject(value = "[{\"id\": \"1\", \"name\": \"John Doe\", \"email\": \"john.doe@example.com\", \"role\": \"MANAGER\"}]"))),
+            @ApiResponse(responseCode = "404", description = "Dealership not found")
+    })
+    @GetMapping("/{id}/users")
+    public ResponseEntity<List<UserResponseDTO>> getDealershipUsers(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<UserResponseDTO> users = dealershipService.getDealershipUsers(id, page, size);
+        return new ResponseEntity<>(users, HttpStatus.OK);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new dealership", description = "Create a new dealership")
     @ApiResponses({
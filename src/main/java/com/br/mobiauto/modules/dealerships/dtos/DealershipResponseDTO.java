@@ -13,4 +13,5 @@ public class DealershipResponseDTO {
     private String id;
     private String cnpj;
     private String corporateName;
+    private long userCount;
 }
@@ -2,6 +2,8 @@ package com.br.mobiauto.modules.dealerships.services;
 
 import com.br.mobiauto.modules.dealerships.dtos.DealershipRequestDTO;
 import com.br.mobiauto.modules.dealerships.dtos.DealershipResponseDTO;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
+
 import java.util.List;
 
 public interface IDealershipService {
@@ -10,4 +12,5 @@ public interface IDealershipService {
     public DealershipResponseDTO createDealership(DealershipRequestDTO dealershipRequestDTO);
     public DealershipResponseDTO updateDealership(String id, DealershipRequestDTO dealershipRequestDTO);
     public void deleteDealership(String id);
+    public List<UserResponseDTO> getDealershipUsers(String id, int page, int size);
 }
@@ -1,5 +1,6 @@
 package com.br.mobiauto.modules.dealerships.services.impl;
 
+import com.br.mobiauto.caching.CacheNames;
 import com.br.mobiauto.exceptions.ConflictException;
 import com.br.mobiauto.exceptions.NotFoundException;
 import com.br.mobiauto.modules.dealerships.dtos.DealershipRequestDTO;
@@ -8,17 +9,30 @@ import com.br.mobiauto.modules.dealerships.mappers.DealershipMapper;
 import com.br.mobiauto.modules.dealerships.models.Dealership;
 import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
 import com.br.mobiauto.modules.dealerships.services.IDealershipService;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
+import com.br.mobiauto.modules.users.mappers.UserMapper;
+import com.br.mobiauto.modules.users.repositories.DealershipUserCount;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DealershipService implements IDealershipService {
 
+    private static final int MAX_USERS_PAGE_SIZE = 100;
+
     private final DealershipRepository dealershipRepository;
+    private final UserRepository userRepository;
 
     @Override
     public DealershipResponseDTO createDealership(DealershipRequestDTO dealershipRequestDTO) {
@@ -31,20 +45,47 @@ public class DealershipService implements IDealershipService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.DEALERSHIPS, key = "#id")
     public DealershipResponseDTO getDealershipById(String id) {
         Dealership dealership = dealershipRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Dealership not found"));
-        return DealershipMapper.toDealershipResponseDTO(dealership);
+        DealershipResponseDTO response = DealershipMapper.toDealershipResponseDTO(dealership);
+        response.setUserCount(userRepository.countByDealershipId(id));
+        return response;
     }
 
     @Override
     public List<DealershipResponseDTO> getAllDealerships() {
-        return dealershipRepository.findAll().stream()
-                .map(DealershipMapper::toDealershipResponseDTO)
+        List<Dealership> dealerships = dealershipRepository.findAll();
+        if (dealerships.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Long> userCounts = userRepository.countByDealershipIdIn(
+                        dealerships.stream().map(Dealership::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(DealershipUserCount::getDealershipId, DealershipUserCount::getCount));
+        return dealerships.stream()
+                .map(dealership -> {
+                    DealershipResponseDTO response = DealershipMapper.toDealershipResponseDTO(dealership);
+                    response.setUserCount(userCounts.getOrDefault(dealership.getId(), 0L));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<UserResponseDTO> getDealershipUsers(String id, int page, int size) {
+        if (!dealershipRepository.existsById(id)) {
+            throw new NotFoundException("Dealership not found");
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_USERS_PAGE_SIZE)),
+                Sort.by("_id"));
+        return userRepository.findAllByDealershipId(id, pageRequest).stream()
+                .map(UserMapper::toUserResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.DEALERSHIPS, key = "#id")
     public DealershipResponseDTO updateDealership(String id, DealershipRequestDTO dealershipRequestDTO) {
         Dealership dealership = dealershipRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Dealership not found"));
@@ -62,6 +103,10 @@ public class DealershipService implements IDealershipService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIPS, key = "#id"),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIP_USERS, key = "#id")
+    })
     public void deleteDealership(String id) {
         Dealership dealership = dealershipRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Dealership not found"));
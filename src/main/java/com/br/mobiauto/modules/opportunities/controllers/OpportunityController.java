@@ -1,9 +1,15 @@
 package com.br.mobiauto.modules.opportunities.controllers;
 
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExportFormat;
 import com.br.mobiauto.modules.opportunities.services.IOpportunityService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,12 +17,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
 
 @RestController
@@ -25,19 +38,51 @@ import java.util.List;
 @Tag(name = "Opportunities", description = "Management of Opportunities")
 public class OpportunityController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final IOpportunityService opportunityService;
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER') or hasRole('MANAGER')")
-    @Operation(summary = "Get all opportunities", description = "Retrieve all opportunities")
+    @Operation(summary = "Get opportunities", description = "Retrieve a page of opportunities matching the filters. Pass the X-Next-Cursor header of a response as cursor to fetch the next page. Sorting by ASSIGNED_DATE only returns opportunities that have been assigned; unassigned ones are listed by the default ID sort")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved opportunities",
+                    headers = @Header(name = OpportunityController.NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
                     content = @Content(schema = @Schema(implementation = OpportunityResponseDTO.class),
-                            examples = @ExampleObject(value = "[{\"id\": \"1\", \"status\": \"NEW\", \"name\": \"Opportunity 1\", \"email\": \"client@example.com\", \"phone\": \"123456789\", \"brand\": \"Brand\", \"model\": \"Model\", \"version\": \"Version\", \"yearModel\": 2022}]")))
+                            examples = @ExampleObject(value = "[{\"id\": \"1\", \"status\": \"NEW\", \"name\": \"Opportunity 1\", \"email\": \"client@example.com\", \"phone\": \"123456789\", \"brand\": \"Brand\", \"model\": \"Model\", \"version\": \"Version\", \"yearModel\": 2022}]"))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
     })
     @GetMapping
-    public ResponseEntity<List<OpportunityResponseDTO>> getAllOpportunities() {
-        List<OpportunityResponseDTO> opportunities = opportunityService.getAllOpportunities();
-        return new ResponseEntity<>(opportunities, HttpStatus.OK);
+    public ResponseEntity<List<OpportunityResponseDTO>> getAllOpportunities(
+            @ParameterObject @ModelAttribute OpportunityFilterDTO filter,
+            @ParameterObject @ModelAttribute OpportunityPageRequestDTO pageRequest) {
+        OpportunityPageDTO page = opportunityService.getAllOpportunities(filter, pageRequest);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER') or hasRole('MANAGER')")
+    @Operation(summary = "Export opportunities", description = "Stream every opportunity matching the filters as newline-delimited JSON or CSV. Pass modifiedSince (ISO-8601) to pull only opportunities changed since the previous export")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully exported opportunities",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(value = "{\"id\":\"1\",\"status\":\"NEW\",\"name\":\"Opportunity 1\",\"email\":\"client@example.com\",\"phone\":\"123456789\",\"brand\":\"Brand\",\"model\":\"Model\",\"version\":\"Version\",\"yearModel\":2022,\"lastModifiedDate\":\"2024-07-01T12:00:00.000+00:00\"}")),
+                            @Content(mediaType = "text/csv")
+                    })
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOpportunities(
+            @ParameterObject @ModelAttribute OpportunityFilterDTO filter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date modifiedSince,
+            @RequestParam(defaultValue = "NDJSON") OpportunityExportFormat format) {
+        StreamingResponseBody body = outputStream ->
+                opportunityService.exportOpportunities(filter, modifiedSince, format, outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .body(body);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER') or hasRole('MANAGER')")
@@ -69,6 +114,20 @@ public class OpportunityController {
         return new ResponseEntity<>(opportunity, HttpStatus.CREATED);
     }
 
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER') or hasRole('MANAGER')")
+    @Operation(summary = "Create opportunities in bulk", description = "Create opportunities from a JSON array or a newline-delimited JSON stream. Each item is validated on its own and the response reports its outcome by position; leads repeating a recent email, phone and model are skipped as duplicates")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed",
+                    content = @Content(schema = @Schema(implementation = OpportunityIngestResponseDTO.class),
+                            examples = @ExampleObject(value = "{\"created\": 1, \"duplicates\": 1, \"rejected\": 1, \"results\": [{\"index\": 0, \"outcome\": \"CREATED\", \"id\": \"1\"}, {\"index\": 1, \"outcome\": \"DUPLICATE\"}, {\"index\": 2, \"outcome\": \"INVALID\", \"errors\": {\"email\": \"Email is mandatory\"}}]}"))),
+            @ApiResponse(responseCode = "400", description = "Malformed payload")
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<OpportunityIngestResponseDTO> ingestOpportunities(InputStream inputStream) throws IOException {
+        OpportunityIngestResponseDTO response = opportunityService.ingestOpportunities(inputStream);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('OWNER') or hasRole('MANAGER')")
     @Operation(summary = "Update an existing opportunity", description = "Update an existing opportunity")
     @ApiResponses({
@@ -133,7 +192,7 @@ public class OpportunityController {
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Distribute unassigned opportunities to assistants", description = "Distribute unassigned opportunities to assistants")
+    @Operation(summary = "Distribute unassigned opportunities to assistants", description = "Distribute unassigned opportunities to assistants and return only the opportunities assigned by this run")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Opportunities successfully distributed",
                     content = @Content(schema = @Schema(implementation = OpportunityResponseDTO.class),
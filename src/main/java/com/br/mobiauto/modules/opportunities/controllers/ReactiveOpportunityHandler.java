@@ -0,0 +1,143 @@
+package com.br.mobiauto.modules.opportunities.controllers;
+
+import com.br.mobiauto.exceptions.BadRequestException;
+import com.br.mobiauto.exceptions.handlers.GlobalExceptionHandler;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.services.IReactiveOpportunityService;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Functional counterpart of {@link OpportunityController} for the {@code reactive} profile: same
+ * paths, parameters, status codes and error bodies. Listing differs on purpose: it streams every
+ * matching opportunity after the cursor as newline-delimited JSON, written as the client reads it,
+ * instead of returning one page with an X-Next-Cursor header; size, when given, caps the stream.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveOpportunityHandler {
+
+    private static final ExceptionHandlerMethodResolver EXCEPTION_HANDLERS =
+            new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+
+    // Validation errors are reported through MethodArgumentNotValidException, like @Valid on the servlet side
+    private static final MethodParameter REQUEST_BODY = new MethodParameter(
+            ReflectionUtils.findMethod(ReactiveOpportunityHandler.class, "createOpportunity", ServerRequest.class), 0);
+
+    private final IReactiveOpportunityService opportunityService;
+    private final SpringValidatorAdapter validator;
+    private final GlobalExceptionHandler globalExceptionHandler;
+
+    public ReactiveOpportunityHandler(IReactiveOpportunityService opportunityService, Validator validator,
+                                      GlobalExceptionHandler globalExceptionHandler) {
+        this.opportunityService = opportunityService;
+        this.validator = new SpringValidatorAdapter(validator);
+        this.globalExceptionHandler = globalExceptionHandler;
+    }
+
+    public Mono<ServerResponse> getAllOpportunities(ServerRequest request) {
+        // Deferred so malformed parameters and cursors reach handleError before the stream starts
+        return Mono.defer(() -> streamOpportunities(request));
+    }
+
+    private Mono<ServerResponse> streamOpportunities(ServerRequest request) {
+        OpportunityFilterDTO filter = OpportunityFilterDTO.builder()
+                .status(param(request, "status", OpportunityStatus::valueOf))
+                .brand(param(request, "brand", Function.identity()))
+                .model(param(request, "model", Function.identity()))
+                .yearModel(param(request, "yearModel", Integer::valueOf))
+                .userId(param(request, "userId", Function.identity()))
+                .dealershipId(param(request, "dealershipId", Function.identity()))
+                .build();
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder()
+                .cursor(param(request, "cursor", Function.identity()))
+                .sort(param(request, "sort", OpportunityPageRequestDTO.SortField::valueOf))
+                .direction(param(request, "direction", Sort.Direction::valueOf))
+                .size(param(request, "size", Integer::valueOf))
+                .build();
+        // The status is sent with the first document, so a query that fails before it, like a wait
+        // for a pooled connection that times out, still gets the servlet's error response
+        return opportunityService.streamOpportunities(filter, pageRequest)
+                .switchOnFirst((first, opportunities) -> first.isOnError()
+                        ? Mono.error(first.getThrowable())
+                        : ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(opportunities, OpportunityResponseDTO.class), false)
+                .single();
+    }
+
+    public Mono<ServerResponse> getOpportunityById(ServerRequest request) {
+        return opportunityService.getOpportunityById(request.pathVariable("id"))
+                .flatMap(opportunity -> ServerResponse.ok().bodyValue(opportunity));
+    }
+
+    public Mono<ServerResponse> createOpportunity(ServerRequest request) {
+        return request.bodyToMono(OpportunityRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Required request body is missing")))
+                .flatMap(this::validated)
+                .flatMap(opportunityService::createOpportunity)
+                .flatMap(opportunity -> ServerResponse.status(HttpStatus.CREATED).bodyValue(opportunity));
+    }
+
+    public Mono<ServerResponse> assignOpportunity(ServerRequest request) {
+        return Mono.defer(() -> opportunityService.assignOpportunity(
+                        request.pathVariable("id"), requiredParam(request, "assistantId")))
+                .flatMap(opportunity -> ServerResponse.ok().bodyValue(opportunity));
+    }
+
+    public Mono<ServerResponse> updateOpportunityStatus(ServerRequest request) {
+        return Mono.defer(() -> opportunityService.updateOpportunityStatus(request.pathVariable("id"),
+                        requiredParam(request, "status"), requiredParam(request, "conclusionReason")))
+                .flatMap(opportunity -> ServerResponse.ok().bodyValue(opportunity));
+    }
+
+    /**
+     * Answers with what {@link GlobalExceptionHandler} returns for the exception on the servlet side.
+     */
+    public Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        Method method = EXCEPTION_HANDLERS.resolveMethodByThrowable(error);
+        if (method == null) {
+            return Mono.error(error);
+        }
+        ResponseEntity<?> entity = (ResponseEntity<?>) ReflectionUtils.invokeMethod(method, globalExceptionHandler, error);
+        ServerResponse.BodyBuilder response = ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()));
+        return entity.getBody() != null ? response.bodyValue(entity.getBody()) : response.build();
+    }
+
+    private Mono<OpportunityRequestDTO> validated(OpportunityRequestDTO body) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(body, "opportunityRequestDTO");
+        validator.validate(body, errors);
+        return errors.hasErrors() ? Mono.error(new MethodArgumentNotValidException(REQUEST_BODY, errors)) : Mono.just(body);
+    }
+
+    private static <T> T param(ServerRequest request, String name, Function<String, T> parse) {
+        return request.queryParam(name).filter(value -> !value.isEmpty()).map(parse).orElse(null);
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new BadRequestException("Required parameter '" + name + "' is not present"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.users.models.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AssistantLoad {
+
+    private User assistant;
+    private long openLeads;
+    private long lastAssignedAt;
+    private int order;
+}
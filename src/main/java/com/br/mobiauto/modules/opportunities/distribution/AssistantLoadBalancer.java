@@ -0,0 +1,59 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.users.models.User;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of assistants keyed by open leads, then by oldest last assignment, then by the
+ * order the assistants were supplied in. Each {@link #next()} is O(log n). Assistants that
+ * reach {@code capacity} open leads leave the heap; a capacity of 0 or less means no cap.
+ */
+public class AssistantLoadBalancer {
+
+    private static final Comparator<AssistantLoad> LEAST_BUSY_FIRST = Comparator
+            .comparingLong(AssistantLoad::getOpenLeads)
+            .thenComparingLong(AssistantLoad::getLastAssignedAt)
+            .thenComparingInt(AssistantLoad::getOrder);
+
+    private final PriorityQueue<AssistantLoad> heap;
+    private final long capacity;
+    private long clock;
+
+    public AssistantLoadBalancer(Collection<AssistantLoad> loads) {
+        this(loads, 0);
+    }
+
+    public AssistantLoadBalancer(Collection<AssistantLoad> loads, long capacity) {
+        this.heap = new PriorityQueue<>(Math.max(1, loads.size()), LEAST_BUSY_FIRST);
+        this.capacity = capacity;
+        loads.stream().filter(this::hasRoom).forEach(heap::offer);
+        this.clock = loads.stream()
+                .mapToLong(AssistantLoad::getLastAssignedAt)
+                .max()
+                .orElse(0L);
+    }
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    public User next() {
+        AssistantLoad leastBusy = heap.poll();
+        if (leastBusy == null) {
+            return null;
+        }
+        leastBusy.setOpenLeads(leastBusy.getOpenLeads() + 1);
+        leastBusy.setLastAssignedAt(++clock);
+        if (hasRoom(leastBusy)) {
+            heap.offer(leastBusy);
+        }
+        return leastBusy.getAssistant();
+    }
+
+    private boolean hasRoom(AssistantLoad load) {
+        return capacity <= 0 || load.getOpenLeads() < capacity;
+    }
+}
@@ -0,0 +1,215 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.repositories.OpenLeadSummary;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-dealership assistant load index backed by the {@code assistant_loads} collection, so every
+ * node picks from the same counters. Picking the least loaded assistant is a single
+ * {@code findAndModify} on the {dealershipId, openLeads, lastAssignedAt} index, which returns the
+ * assistant's name along with the counter.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssistantLoadIndex {
+
+    private final MongoTemplate mongoTemplate;
+    private final OpportunityRepository opportunityRepository;
+    private final UserRepository userRepository;
+    private final DistributionProperties properties;
+
+    public Optional<AssistantLoadCounter> acquire(String dealershipId) {
+        if (!assignsIn(dealershipId)) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        AssistantLoadCounter counter = pick(dealershipId, now);
+        if (refreshIfDue(dealershipId, counter, now) && counter == null) {
+            counter = pick(dealershipId, now);
+        }
+        return Optional.ofNullable(counter);
+    }
+
+    public void transition(String fromAssistantId, String toAssistantId) {
+        if (Objects.equals(fromAssistantId, toAssistantId)) {
+            return;
+        }
+        if (fromAssistantId != null) {
+            adjust(fromAssistantId, -1);
+        }
+        if (toAssistantId != null) {
+            adjust(toAssistantId, 1);
+        }
+    }
+
+    public void recordAssignments(Collection<Opportunity> opportunities) {
+        Map<String, Long> assignments = opportunities.stream()
+                .map(AssistantLoadIndex::loadHolder)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        if (assignments.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssistantLoadCounter.class);
+        assignments.forEach((assistantId, count) -> bulkOperations.updateOne(
+                Query.query(Criteria.where("_id").is(assistantId)),
+                new Update().inc("openLeads", count)));
+        bulkOperations.execute();
+    }
+
+    /**
+     * Stops handing leads to a user who was deleted, is no longer an assistant or moved to another
+     * dealership. The next refresh of their new dealership seeds a fresh counter if needed.
+     */
+    public void removeAssistant(String assistantId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(assistantId)), AssistantLoadCounter.class);
+    }
+
+    public static String loadHolder(Opportunity opportunity) {
+        if (opportunity.getUserId() == null || opportunity.getStatus() == null || !opportunity.getStatus().isOpen()) {
+            return null;
+        }
+        return opportunity.getUserId();
+    }
+
+    boolean assignsIn(String dealershipId) {
+        return properties.isAutoAssign() && dealershipId != null;
+    }
+
+    boolean isStale(AssistantLoadCounter picked, long now) {
+        return picked == null || now - picked.getRefreshedAt() >= properties.getIndexRefreshInterval().toMillis();
+    }
+
+    /**
+     * Recounts the dealership when the picked counter is stale, or none was picked, and this node
+     * wins the claim. Returns whether it did.
+     */
+    boolean refreshIfDue(String dealershipId, AssistantLoadCounter picked, long now) {
+        if (!isStale(picked, now) || !claimRefresh(dealershipId, now, picked == null)) {
+            return false;
+        }
+        refresh(dealershipId, now);
+        return true;
+    }
+
+    private AssistantLoadCounter pick(String dealershipId, long now) {
+        return mongoTemplate.findAndModify(
+                leastLoaded(dealershipId),
+                assignment(now),
+                FindAndModifyOptions.options().returnNew(true),
+                AssistantLoadCounter.class);
+    }
+
+    private void adjust(String assistantId, long delta) {
+        mongoTemplate.updateFirst(counterOf(assistantId), new Update().inc("openLeads", delta), AssistantLoadCounter.class);
+    }
+
+    static Query counterOf(String assistantId) {
+        return Query.query(Criteria.where("_id").is(assistantId));
+    }
+
+    static Update assignment(long now) {
+        return new Update().inc("openLeads", 1).set("lastAssignedAt", now);
+    }
+
+    Query leastLoaded(String dealershipId) {
+        Criteria criteria = Criteria.where("dealershipId").is(dealershipId);
+        if (properties.getMaxOpenLeadsPerAssistant() > 0) {
+            criteria = criteria.and("openLeads").lt((long) properties.getMaxOpenLeadsPerAssistant());
+        }
+        return Query.query(criteria).with(Sort.by("openLeads", "lastAssignedAt", "_id"));
+    }
+
+    /**
+     * The refresh time lives on the counters, so one node per interval wins the claim instead of
+     * every node recounting the same dealership. A dealership without counters has nothing to claim
+     * and is seeded by whoever gets there.
+     */
+    private boolean claimRefresh(String dealershipId, long now, boolean noCounterPicked) {
+        long claimed = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("dealershipId").is(dealershipId)
+                        .and("refreshedAt").lt(now - properties.getIndexRefreshInterval().toMillis())),
+                new Update().set("refreshedAt", now),
+                AssistantLoadCounter.class).getModifiedCount();
+        return claimed > 0 || noCounterPicked
+                && !mongoTemplate.exists(Query.query(Criteria.where("dealershipId").is(dealershipId)), AssistantLoadCounter.class);
+    }
+
+    /**
+     * Recounts every assistant of the dealership from the opportunities themselves, so counters
+     * that drifted (a failed write, a lead edited outside this service) are corrected at most
+     * {@code indexRefreshInterval} later. Counters of assistants who left the dealership are dropped.
+     * A recount only replaces a counter that nothing touched since it was read: an acquire or
+     * transition in between wins, and that counter is corrected by the next refresh instead.
+     */
+    private void refresh(String dealershipId, long now) {
+        Map<String, AssistantLoadCounter> counters = mongoTemplate.find(
+                        Query.query(Criteria.where("dealershipId").is(dealershipId)), AssistantLoadCounter.class).stream()
+                .collect(Collectors.toMap(AssistantLoadCounter::getAssistantId, Function.identity()));
+        List<User> assistants = userRepository.findAllByDealershipIdAndRole(dealershipId, Role.ASSISTANT);
+        List<String> assistantIds = assistants.stream().map(User::getId).collect(Collectors.toList());
+        mongoTemplate.remove(
+                Query.query(Criteria.where("dealershipId").is(dealershipId).and("_id").nin(assistantIds)),
+                AssistantLoadCounter.class);
+        if (assistantIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, OpenLeadSummary> summaries = opportunityRepository.summarizeLoads(assistantIds).stream()
+                .collect(Collectors.toMap(OpenLeadSummary::getUserId, Function.identity()));
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssistantLoadCounter.class);
+        for (User assistant : assistants) {
+            OpenLeadSummary summary = summaries.get(assistant.getId());
+            long openLeads = summary != null ? summary.getOpenLeads() : 0L;
+            AssistantLoadCounter counter = counters.get(assistant.getId());
+            if (counter == null) {
+                long lastAssignedAt = summary != null && summary.getLastAssignedDate() != null
+                        ? summary.getLastAssignedDate().getTime() : 0L;
+                // Another node seeding the same assistant keeps whichever insert landed first
+                bulkOperations.upsert(
+                        Query.query(Criteria.where("_id").is(assistant.getId())),
+                        new Update()
+                                .setOnInsert("dealershipId", dealershipId)
+                                .setOnInsert("openLeads", openLeads)
+                                .setOnInsert("lastAssignedAt", lastAssignedAt)
+                                .setOnInsert("refreshedAt", now)
+                                .set("assistantName", assistant.getName()));
+            } else {
+                bulkOperations.updateOne(
+                        Query.query(Criteria.where("_id").is(assistant.getId())),
+                        new Update().set("assistantName", assistant.getName()));
+                // A counter acquired since the claim holds a lead that is not saved yet, so not in the recount
+                if (counter.getOpenLeads() != openLeads && counter.getLastAssignedAt() < now) {
+                    bulkOperations.updateOne(
+                            Query.query(Criteria.where("_id").is(assistant.getId())
+                                    .and("openLeads").is(counter.getOpenLeads())
+                                    .and("lastAssignedAt").is(counter.getLastAssignedAt())),
+                            new Update().set("openLeads", openLeads));
+                }
+            }
+        }
+        bulkOperations.execute();
+    }
+}
@@ -0,0 +1,56 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool shared by every distribution run to write its dealership partitions. At most
+ * {@code parallelism} partitions are written at once, however many runs overlap; once the queue is
+ * full the submitting thread writes the partition itself.
+ */
+@Component
+public class DistributionExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+
+    public DistributionExecutor(DistributionProperties properties, MeterRegistry meterRegistry) {
+        int threads = Math.max(1, properties.getParallelism());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), new DistributionThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "opportunities.distribution");
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, monitoredExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class DistributionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "opportunity-distribution-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.opportunities.distribution")
+public class DistributionProperties {
+
+    private int batchSize = 500;
+
+    // Unassigned leads read per round; each round is distributed before the next one is read
+    private int backlogPageSize = 5_000;
+
+    // Threads of the shared DistributionExecutor, i.e. dealership partitions written at once
+    private int parallelism = 4;
+
+    // Partitions waiting for a DistributionExecutor thread before the caller writes them itself
+    private int queueCapacity = 64;
+
+    // 0 disables the cap
+    private int maxOpenLeadsPerAssistant = 0;
+
+    private boolean autoAssign = false;
+
+    private Duration indexRefreshInterval = Duration.ofMinutes(1);
+}
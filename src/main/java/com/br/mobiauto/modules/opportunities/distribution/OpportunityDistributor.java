@@ -0,0 +1,228 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.repositories.OpenLeadSummary;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class OpportunityDistributor {
+
+    private static final Logger log = LoggerFactory.getLogger(OpportunityDistributor.class);
+
+    private final OpportunityRepository opportunityRepository;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DistributionProperties properties;
+    private final AssistantLoadIndex assistantLoadIndex;
+    private final DistributionExecutor distributionExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public List<Opportunity> distribute() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            List<Opportunity> assigned = assignBacklog();
+            outcome = "success";
+            Counter.builder("opportunities.distribution.assigned")
+                    .description("Leads assigned by distribution runs")
+                    .register(meterRegistry)
+                    .increment(assigned.size());
+            return assigned;
+        } finally {
+            sample.stop(Timer.builder("opportunities.distribution.duration")
+                    .description("Time taken by a distribution run")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reads the backlog one page at a time in _id order. Within a page, each dealership's leads go
+     * to its own assistants on the {@link DistributionExecutor}. Leads without a dealership then go to
+     * every assistant, after the dealership partitions are written, so their loads are up to date.
+     * Leads that found no assistant with room stay in the backlog for the next run.
+     */
+    private List<Opportunity> assignBacklog() {
+        int pageSize = Math.max(1, properties.getBacklogPageSize());
+        List<Opportunity> page = opportunityRepository.findUnassigned(null, pageSize);
+        if (page.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> assistants = userRepository.findAllByRole(Role.ASSISTANT);
+        if (assistants.isEmpty()) {
+            log.info("No assistants to distribute the backlog to");
+            return List.of();
+        }
+        Map<String, List<User>> assistantsByDealership = new LinkedHashMap<>();
+        for (User assistant : assistants) {
+            if (assistant.getDealershipId() != null) {
+                assistantsByDealership.computeIfAbsent(assistant.getDealershipId(), id -> new ArrayList<>()).add(assistant);
+            }
+        }
+        DistributionSummary.builder("opportunities.distribution.assistants")
+                .description("Assistants considered by a distribution run")
+                .register(meterRegistry)
+                .record(assistants.size());
+
+        Date assignedDate = new Date();
+        List<Opportunity> assigned = new ArrayList<>();
+        long skipped = 0;
+        while (!page.isEmpty()) {
+            List<Opportunity> assignedFromPage = assignPage(page, assistants, assistantsByDealership, assignedDate);
+            assigned.addAll(assignedFromPage);
+            skipped += page.size() - assignedFromPage.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            page = opportunityRepository.findUnassigned(page.get(page.size() - 1).getId(), pageSize);
+        }
+        if (skipped > 0) {
+            log.info("{} leads left unassigned: no assistant of their dealership has room", skipped);
+        }
+        return assigned;
+    }
+
+    private List<Opportunity> assignPage(List<Opportunity> page, List<User> assistants,
+                                         Map<String, List<User>> assistantsByDealership, Date assignedDate) {
+        Map<String, List<Opportunity>> leadsByDealership = new LinkedHashMap<>();
+        List<Opportunity> withoutDealership = new ArrayList<>();
+        for (Opportunity opportunity : page) {
+            if (opportunity.getDealershipId() == null) {
+                withoutDealership.add(opportunity);
+            } else if (assistantsByDealership.containsKey(opportunity.getDealershipId())) {
+                leadsByDealership.computeIfAbsent(opportunity.getDealershipId(), id -> new ArrayList<>()).add(opportunity);
+            }
+        }
+
+        List<CompletableFuture<List<Opportunity>>> partitions = leadsByDealership.entrySet().stream()
+                .map(partition -> distributionExecutor.supply(() -> distributePartition(
+                        partition.getValue(), assistantsByDealership.get(partition.getKey()), assignedDate)))
+                .collect(Collectors.toList());
+
+        List<Opportunity> assigned = new ArrayList<>(page.size());
+        for (CompletableFuture<List<Opportunity>> partition : partitions) {
+            assigned.addAll(join(partition));
+        }
+        if (!withoutDealership.isEmpty()) {
+            assigned.addAll(distributePartition(withoutDealership, assistants, assignedDate));
+        }
+        return assigned;
+    }
+
+    private List<Opportunity> distributePartition(List<Opportunity> leads, List<User> assistants, Date assignedDate) {
+        AssistantLoadBalancer balancer = new AssistantLoadBalancer(
+                loadAssistants(assistants), properties.getMaxOpenLeadsPerAssistant());
+
+        List<Opportunity> toAssign = new ArrayList<>(leads.size());
+        for (Opportunity opportunity : leads) {
+            User assistant = balancer.next();
+            if (assistant == null) {
+                break;
+            }
+            opportunity.setUserId(assistant.getId());
+            opportunity.setUserName(assistant.getName());
+            opportunity.setAssignedDate(assignedDate);
+            opportunity.setLastModifiedDate(assignedDate);
+            toAssign.add(opportunity);
+        }
+
+        List<Opportunity> assigned = new ArrayList<>(toAssign.size());
+        int chunkSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < toAssign.size(); from += chunkSize) {
+            List<Opportunity> chunk = toAssign.subList(from, Math.min(from + chunkSize, toAssign.size()));
+            assigned.addAll(persistChunk(chunk, assignedDate));
+        }
+        assistantLoadIndex.recordAssignments(assigned);
+        return assigned;
+    }
+
+    private List<AssistantLoad> loadAssistants(List<User> assistants) {
+        Map<String, OpenLeadSummary> summaries = opportunityRepository.summarizeLoads(
+                        assistants.stream().map(User::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(OpenLeadSummary::getUserId, Function.identity()));
+        List<AssistantLoad> loads = new ArrayList<>(assistants.size());
+        for (int i = 0; i < assistants.size(); i++) {
+            User assistant = assistants.get(i);
+            OpenLeadSummary summary = summaries.get(assistant.getId());
+            long openLeads = summary != null ? summary.getOpenLeads() : 0L;
+            long lastAssignedAt = summary != null && summary.getLastAssignedDate() != null
+                    ? summary.getLastAssignedDate().getTime() : 0L;
+            loads.add(new AssistantLoad(assistant, openLeads, lastAssignedAt, i));
+        }
+        return loads;
+    }
+
+    private List<Opportunity> persistChunk(List<Opportunity> chunk, Date assignedDate) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class);
+        for (Opportunity opportunity : chunk) {
+            bulkOperations.updateOne(
+                    Query.query(Criteria.where("_id").is(opportunity.getId()).and("userId").is(null)),
+                    new Update()
+                            .set("userId", opportunity.getUserId())
+                            .set("userName", opportunity.getUserName())
+                            .set("assignedDate", assignedDate)
+                            .set("lastModifiedDate", assignedDate));
+        }
+        BulkWriteResult result = bulkOperations.execute();
+        if (result.getMatchedCount() == chunk.size()) {
+            return chunk;
+        }
+
+        // Some leads were assigned concurrently; keep only the ones that now hold this run's assistant
+        // and assignment time. The bulk result only has counts, not which updates matched.
+        List<String> ids = chunk.stream().map(Opportunity::getId).collect(Collectors.toList());
+        Query stored = Query.query(Criteria.where("_id").in(ids));
+        stored.fields().include("userId", "assignedDate");
+        Map<String, Opportunity> storedById = mongoTemplate.find(stored, Opportunity.class).stream()
+                .collect(Collectors.toMap(Opportunity::getId, Function.identity()));
+        return chunk.stream()
+                .filter(opportunity -> {
+                    Opportunity current = storedById.get(opportunity.getId());
+                    return current != null
+                            && opportunity.getUserId().equals(current.getUserId())
+                            && assignedDate.equals(current.getAssignedDate());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Non-blocking access to the counters of {@link AssistantLoadIndex}, for the {@code reactive}
+ * profile. Picking and adjusting an assistant are the same single-document updates, issued through
+ * the reactive driver. The recount is not duplicated: it runs at most once per dealership and
+ * refresh interval across all nodes, so it keeps the blocking implementation on the bounded
+ * elastic scheduler.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAssistantLoadIndex {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final AssistantLoadIndex assistantLoadIndex;
+
+    public Mono<AssistantLoadCounter> acquire(String dealershipId) {
+        if (!assistantLoadIndex.assignsIn(dealershipId)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+            return pick(dealershipId, now)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(picked -> refreshIfDue(dealershipId, picked.orElse(null), now)
+                            .flatMap(refreshed -> refreshed && picked.isEmpty()
+                                    ? pick(dealershipId, now)
+                                    : Mono.justOrEmpty(picked)));
+        });
+    }
+
+    public Mono<Void> transition(String fromAssistantId, String toAssistantId) {
+        if (Objects.equals(fromAssistantId, toAssistantId)) {
+            return Mono.empty();
+        }
+        return Mono.when(adjust(fromAssistantId, -1), adjust(toAssistantId, 1));
+    }
+
+    private Mono<AssistantLoadCounter> pick(String dealershipId, long now) {
+        return reactiveMongoTemplate.findAndModify(
+                assistantLoadIndex.leastLoaded(dealershipId),
+                AssistantLoadIndex.assignment(now),
+                FindAndModifyOptions.options().returnNew(true),
+                AssistantLoadCounter.class);
+    }
+
+    private Mono<Boolean> refreshIfDue(String dealershipId, AssistantLoadCounter picked, long now) {
+        if (!assistantLoadIndex.isStale(picked, now)) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> assistantLoadIndex.refreshIfDue(dealershipId, picked, now))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> adjust(String assistantId, long delta) {
+        if (assistantId == null) {
+            return Mono.empty();
+        }
+        return reactiveMongoTemplate.updateFirst(
+                AssistantLoadIndex.counterOf(assistantId),
+                new Update().inc("openLeads", delta),
+                AssistantLoadCounter.class).then();
+    }
+}
@@ -0,0 +1,21 @@
+package com.br.mobiauto.modules.opportunities.dtos;
+
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OpportunityFilterDTO {
+
+    private OpportunityStatus status;
+    private String brand;
+    private String model;
+    private Integer yearModel;
+    private String userId;
+    private String dealershipId;
+}
@@ -0,0 +1,20 @@
+package com.br.mobiauto.modules.opportunities.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OpportunityIngestResponseDTO {
+
+    private int created;
+    private int duplicates;
+    private int rejected;
+    private List<OpportunityIngestResultDTO> results;
+}
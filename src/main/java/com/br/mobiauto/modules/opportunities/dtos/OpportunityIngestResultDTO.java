@@ -0,0 +1,29 @@
+package com.br.mobiauto.modules.opportunities.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OpportunityIngestResultDTO {
+
+    public enum Outcome {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Outcome outcome;
+    private String id;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,18 @@
+package com.br.mobiauto.modules.opportunities.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OpportunityPageDTO {
+
+    private List<OpportunityResponseDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.br.mobiauto.modules.opportunities.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OpportunityPageRequestDTO {
+
+    public enum SortField {
+        ID,
+        ASSIGNED_DATE
+    }
+
+    private String cursor;
+
+    @Builder.Default
+    private SortField sort = SortField.ID;
+
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    private Integer size;
+}
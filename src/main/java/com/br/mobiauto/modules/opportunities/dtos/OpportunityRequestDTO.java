@@ -34,4 +34,6 @@ public class OpportunityRequestDTO {
     private String version;
 
     private int yearModel;
+
+    private String dealershipId;
 }
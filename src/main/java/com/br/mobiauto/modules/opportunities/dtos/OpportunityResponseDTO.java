@@ -22,4 +22,7 @@ public class OpportunityResponseDTO {
     private String version;
     private int yearModel;
     private String conclusionReason;
+    private String dealershipId;
+    private String userId;
+    private String userName;
 }
@@ -0,0 +1,112 @@
+package com.br.mobiauto.modules.opportunities.exports;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityExportDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.mappers.OpportunityMapper;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes opportunities straight from a Mongo cursor to the response, one document at a time, so
+ * memory use does not grow with the size of the collection.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpportunityExporter {
+
+    private static final String CSV_HEADER = "id,status,name,email,phone,brand,model,version,yearModel,"
+            + "conclusionReason,dealershipId,userId,userName,assignedDate,conclusionDate,lastModifiedDate";
+
+    // Leading characters that make Excel and Sheets read a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final OpportunityRepository opportunityRepository;
+    private final ObjectMapper objectMapper;
+
+    public void export(OpportunityFilterDTO filter, Date modifiedSince, OpportunityExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        try (Stream<Opportunity> opportunities = opportunityRepository.streamAll(filter, modifiedSince)) {
+            Iterator<OpportunityExportDTO> rows = opportunities.map(OpportunityMapper::toOpportunityExportDTO).iterator();
+            if (format == OpportunityExportFormat.CSV) {
+                writeCsv(rows, outputStream);
+            } else {
+                writeNdjson(rows, outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<OpportunityExportDTO> rows, OutputStream outputStream) throws IOException {
+        boolean empty = true;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                empty = false;
+            }
+        }
+        if (!empty) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+    }
+
+    private void writeCsv(Iterator<OpportunityExportDTO> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            OpportunityExportDTO row = rows.next();
+            writer.write(String.join(",",
+                    csv(row.getId()),
+                    csv(row.getStatus()),
+                    csv(row.getName()),
+                    csv(row.getEmail()),
+                    csv(row.getPhone()),
+                    csv(row.getBrand()),
+                    csv(row.getModel()),
+                    csv(row.getVersion()),
+                    csv(row.getYearModel()),
+                    csv(row.getConclusionReason()),
+                    csv(row.getDealershipId()),
+                    csv(row.getUserId()),
+                    csv(row.getUserName()),
+                    csv(row.getAssignedDate()),
+                    csv(row.getConclusionDate()),
+                    csv(row.getLastModifiedDate())));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Date date ? date.toInstant().toString() : value.toString();
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            // Spreadsheets evaluate such cells as formulas; the quote makes them plain text
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,18 @@
+package com.br.mobiauto.modules.opportunities.ingestion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.opportunities.ingestion")
+public class IngestionProperties {
+
+    private int chunkSize = 500;
+
+    // Duration.ZERO disables deduplication
+    private Duration dedupWindow = Duration.ofHours(24);
+}
@@ -0,0 +1,191 @@
+package com.br.mobiauto.modules.opportunities.ingestion;
+
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResultDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.mappers.OpportunityMapper;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a JSON array or NDJSON feed of leads item by item and inserts them in unordered chunks,
+ * reporting one result per item so a bad lead never fails the rest of the batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpportunityIngestor {
+
+    private final MongoTemplate mongoTemplate;
+    private final DealershipRepository dealershipRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final IngestionProperties properties;
+
+    public OpportunityIngestResponseDTO ingest(InputStream inputStream) throws IOException {
+        Batch batch = new Batch();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<OpportunityRequestDTO> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<OpportunityRequestDTO> items = objectMapper.readerFor(OpportunityRequestDTO.class)
+                .readValues(inputStream)) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                if (chunk.size() == chunkSize) {
+                    ingestChunk(chunk, batch);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            ingestChunk(chunk, batch);
+        }
+
+        return OpportunityIngestResponseDTO.builder()
+                .created(batch.count(OpportunityIngestResultDTO.Outcome.CREATED))
+                .duplicates(batch.count(OpportunityIngestResultDTO.Outcome.DUPLICATE))
+                .rejected(batch.count(OpportunityIngestResultDTO.Outcome.INVALID)
+                        + batch.count(OpportunityIngestResultDTO.Outcome.FAILED))
+                .results(batch.results)
+                .build();
+    }
+
+    private void ingestChunk(List<OpportunityRequestDTO> chunk, Batch batch) {
+        int firstIndex = batch.results.size();
+        Map<Integer, OpportunityRequestDTO> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            OpportunityRequestDTO item = chunk.get(i);
+            Map<String, String> errors = validate(item, batch);
+            if (errors.isEmpty()) {
+                accepted.put(firstIndex + i, item);
+                batch.results.add(null);
+            } else {
+                batch.results.add(result(firstIndex + i, OpportunityIngestResultDTO.Outcome.INVALID, null, errors));
+            }
+        }
+
+        Set<String> recentKeys = recentDedupKeys(accepted.values());
+        List<Opportunity> toInsert = new ArrayList<>(accepted.size());
+        List<Integer> insertedIndexes = new ArrayList<>(accepted.size());
+        accepted.forEach((index, item) -> {
+            String key = dedupKey(item.getEmail(), item.getPhone(), item.getModel());
+            if (recentKeys.contains(key) || (dedupEnabled() && !batch.seenKeys.add(key))) {
+                batch.results.set(index, result(index, OpportunityIngestResultDTO.Outcome.DUPLICATE, null, null));
+                return;
+            }
+            Opportunity opportunity = OpportunityMapper.toOpportunityEntity(item);
+            // Ids are generated up front because bulk inserts do not write them back to the entities.
+            opportunity.setId(new ObjectId().toHexString());
+            opportunity.setStatus(OpportunityStatus.NEW);
+            toInsert.add(opportunity);
+            insertedIndexes.add(index);
+        });
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failures = insert(toInsert);
+        for (int i = 0; i < toInsert.size(); i++) {
+            int index = insertedIndexes.get(i);
+            String failure = failures.get(i);
+            batch.results.set(index, failure == null
+                    ? result(index, OpportunityIngestResultDTO.Outcome.CREATED, toInsert.get(i).getId(), null)
+                    : result(index, OpportunityIngestResultDTO.Outcome.FAILED, null, Map.of("insert", failure)));
+        }
+    }
+
+    private Map<String, String> validate(OpportunityRequestDTO item, Batch batch) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<OpportunityRequestDTO> violation : validator.validate(item)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (errors.isEmpty() && item.getDealershipId() != null
+                && !batch.knownDealerships.computeIfAbsent(item.getDealershipId(), dealershipRepository::existsById)) {
+            errors.put("dealershipId", "Dealership not found");
+        }
+        return errors;
+    }
+
+    private Set<String> recentDedupKeys(Iterable<OpportunityRequestDTO> items) {
+        if (!dedupEnabled()) {
+            return Set.of();
+        }
+        Set<String> emails = new HashSet<>();
+        items.forEach(item -> emails.add(item.getEmail()));
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+
+        Date since = new Date(System.currentTimeMillis() - properties.getDedupWindow().toMillis());
+        Query query = Query.query(Criteria.where("email").in(emails).and("createdDate").gte(since));
+        query.fields().include("email", "phone", "model");
+        return mongoTemplate.find(query, Opportunity.class).stream()
+                .map(opportunity -> dedupKey(opportunity.getEmail(), opportunity.getPhone(), opportunity.getModel()))
+                .collect(Collectors.toSet());
+    }
+
+    private Map<Integer, String> insert(List<Opportunity> opportunities) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class);
+        bulkOperations.insert(opportunities);
+        try {
+            bulkOperations.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first));
+        }
+    }
+
+    private boolean dedupEnabled() {
+        return properties.getDedupWindow() != null && !properties.getDedupWindow().isZero();
+    }
+
+    private static String dedupKey(String email, String phone, String model) {
+        return email + '\u0000' + phone + '\u0000' + model;
+    }
+
+    private static OpportunityIngestResultDTO result(int index, OpportunityIngestResultDTO.Outcome outcome, String id,
+                                                     Map<String, String> errors) {
+        return OpportunityIngestResultDTO.builder()
+                .index(index)
+                .outcome(outcome)
+                .id(id)
+                .errors(errors)
+                .build();
+    }
+
+    private static class Batch {
+
+        private final List<OpportunityIngestResultDTO> results = new ArrayList<>();
+        private final Set<String> seenKeys = new HashSet<>();
+        private final Map<String, Boolean> knownDealerships = new HashMap<>();
+
+        private int count(OpportunityIngestResultDTO.Outcome outcome) {
+            return (int) results.stream().filter(result -> result.getOutcome() == outcome).count();
+        }
+    }
+}
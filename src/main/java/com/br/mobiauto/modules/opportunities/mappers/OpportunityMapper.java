@@ -1,23 +1,78 @@
 package com.br.mobiauto.modules.opportunities.mappers;
 
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityExportDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
 import com.br.mobiauto.modules.opportunities.models.Opportunity;
-import org.modelmapper.ModelMapper;
 
 public class OpportunityMapper {
 
-    private static final ModelMapper modelMapper = new ModelMapper();
-
     public static OpportunityResponseDTO toOpportunityResponseDTO(Opportunity opportunity) {
-        return modelMapper.map(opportunity, OpportunityResponseDTO.class);
+        return OpportunityResponseDTO.builder()
+                .id(opportunity.getId())
+                .status(opportunity.getStatus())
+                .name(opportunity.getName())
+                .email(opportunity.getEmail())
+                .phone(opportunity.getPhone())
+                .brand(opportunity.getBrand())
+                .model(opportunity.getModel())
+                .version(opportunity.getVersion())
+                .yearModel(opportunity.getYearModel())
+                .conclusionReason(opportunity.getConclusionReason())
+                .dealershipId(opportunity.getDealershipId())
+                .userId(opportunity.getUserId())
+                .userName(opportunity.getUserName())
+                .build();
+    }
+
+    public static OpportunityExportDTO toOpportunityExportDTO(Opportunity opportunity) {
+        return OpportunityExportDTO.builder()
+                .id(opportunity.getId())
+                .status(opportunity.getStatus())
+                .name(opportunity.getName())
+                .email(opportunity.getEmail())
+                .phone(opportunity.getPhone())
+                .brand(opportunity.getBrand())
+                .model(opportunity.getModel())
+                .version(opportunity.getVersion())
+                .yearModel(opportunity.getYearModel())
+                .conclusionReason(opportunity.getConclusionReason())
+                .dealershipId(opportunity.getDealershipId())
+                .userId(opportunity.getUserId())
+                .userName(opportunity.getUserName())
+                .assignedDate(opportunity.getAssignedDate())
+                .conclusionDate(opportunity.getConclusionDate())
+                .lastModifiedDate(opportunity.getLastModifiedDate())
+                .build();
     }
 
     public static Opportunity toOpportunityEntity(OpportunityRequestDTO opportunityRequestDTO) {
-        return modelMapper.map(opportunityRequestDTO, Opportunity.class);
+        return Opportunity.builder()
+                .name(opportunityRequestDTO.getName())
+                .email(opportunityRequestDTO.getEmail())
+                .phone(opportunityRequestDTO.getPhone())
+                .brand(opportunityRequestDTO.getBrand())
+                .model(opportunityRequestDTO.getModel())
+                .version(opportunityRequestDTO.getVersion())
+                .yearModel(opportunityRequestDTO.getYearModel())
+                .dealershipId(opportunityRequestDTO.getDealershipId())
+                .build();
     }
 
+    /**
+     * Replaces the client-supplied fields of the opportunity with the request values, nulls included.
+     * The dealership is only changed when the request names one, so an update never unscopes a lead.
+     */
     public static void updateOpportunityEntity(OpportunityRequestDTO dto, Opportunity opportunity) {
-        modelMapper.map(dto, opportunity);
+        opportunity.setName(dto.getName());
+        opportunity.setEmail(dto.getEmail());
+        opportunity.setPhone(dto.getPhone());
+        opportunity.setBrand(dto.getBrand());
+        opportunity.setModel(dto.getModel());
+        opportunity.setVersion(dto.getVersion());
+        opportunity.setYearModel(dto.getYearModel());
+        if (dto.getDealershipId() != null) {
+            opportunity.setDealershipId(dto.getDealershipId());
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.br.mobiauto.modules.opportunities.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "assistant_loads")
+@CompoundIndex(name = "dealership_load", def = "{'dealershipId': 1, 'openLeads': 1, 'lastAssignedAt': 1}")
+public class AssistantLoadCounter {
+
+    @Id
+    private String assistantId;
+    private String assistantName;
+    private String dealershipId;
+    private long openLeads;
+    private long lastAssignedAt;
+    // Last recount of the dealership this counter belongs to
+    private long refreshedAt;
+}
@@ -1,13 +1,15 @@
 package com.br.mobiauto.modules.opportunities.models;
 
 import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
-import com.br.mobiauto.modules.users.models.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
@@ -17,6 +19,18 @@ import java.util.Date;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "opportunities")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "dealership_status_id", def = "{'dealershipId': 1, 'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "dealership_assigned_date", def = "{'dealershipId': 1, 'assignedDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "assigned_date_id", def = "{'assignedDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "last_modified_date_id", def = "{'lastModifiedDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "lead_dedup", def = "{'email': 1, 'phone': 1, 'model': 1, 'createdDate': 1}"),
+        @CompoundIndex(name = "vehicle", def = "{'brand': 1, 'model': 1, 'yearModel': 1}"),
+        @CompoundIndex(name = "user_status", def = "{'userId': 1, 'status': 1}"),
+        // Only the distribution backlog; entries leave the index as soon as a lead is assigned
+        @CompoundIndex(name = "unassigned_id", def = "{'userId': 1, '_id': 1}", partialFilter = "{'userId': null}")
+})
 public class Opportunity {
 
     @Id
@@ -32,7 +46,13 @@ public class Opportunity {
     private String conclusionReason;
     private Date assignedDate;
     private Date conclusionDate;
+    private String dealershipId;
+    private String userId;
+    private String userName;
 
-    @DBRef
-    private User user;
+    @CreatedDate
+    private Date createdDate;
+
+    @LastModifiedDate
+    private Date lastModifiedDate;
 }
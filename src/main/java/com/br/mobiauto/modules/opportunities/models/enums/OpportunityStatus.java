@@ -1,7 +1,17 @@
 package com.br.mobiauto.modules.opportunities.models.enums;
 
+import java.util.List;
+
 public enum OpportunityStatus {
     NEW,
     IN_PROGRESS,
-    COMPLETED
-}
\ No newline at end of file
+    COMPLETED;
+
+    public boolean isOpen() {
+        return this != COMPLETED;
+    }
+
+    public static List<OpportunityStatus> openStatuses() {
+        return List.of(NEW, IN_PROGRESS);
+    }
+}
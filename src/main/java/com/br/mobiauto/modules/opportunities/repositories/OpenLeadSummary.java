@@ -0,0 +1,23 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.util.Date;
+
+/**
+ * One assistant's open leads and most recent assignment, as grouped by
+ * {@link OpportunityRepositoryCustom#summarizeLoads}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenLeadSummary {
+
+    @Id
+    private String userId;
+    private long openLeads;
+    private Date lastAssignedDate;
+}
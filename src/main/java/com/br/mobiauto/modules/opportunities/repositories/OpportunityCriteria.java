@@ -0,0 +1,80 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OpportunityCriteria {
+
+    private OpportunityCriteria() {
+    }
+
+    public static List<Criteria> of(OpportunityFilterDTO filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter == null) {
+            return criteria;
+        }
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getBrand() != null) {
+            criteria.add(Criteria.where("brand").is(filter.getBrand()));
+        }
+        if (filter.getModel() != null) {
+            criteria.add(Criteria.where("model").is(filter.getModel()));
+        }
+        if (filter.getYearModel() != null) {
+            criteria.add(Criteria.where("yearModel").is(filter.getYearModel()));
+        }
+        if (filter.getUserId() != null) {
+            criteria.add(Criteria.where("userId").is(filter.getUserId()));
+        }
+        if (filter.getDealershipId() != null) {
+            criteria.add(Criteria.where("dealershipId").is(filter.getDealershipId()));
+        }
+        return criteria;
+    }
+
+    /**
+     * Keyset query for the listing: the filter, resumed after the cursor, in the order of the sort
+     * field with {@code _id} as the tie-breaker.
+     */
+    public static Query page(OpportunityFilterDTO filter, OpportunityPageRequestDTO.SortField sort,
+                             Sort.Direction direction, OpportunityCursor after) {
+        boolean ascending = direction.isAscending();
+        List<Criteria> criteria = of(filter);
+
+        if (sort == OpportunityPageRequestDTO.SortField.ASSIGNED_DATE) {
+            // Unassigned leads have no position in this order and are left out; the API docs say so
+            criteria.add(Criteria.where("assignedDate").ne(null));
+            if (after != null) {
+                criteria.add(new Criteria().orOperator(
+                        beyond(Criteria.where("assignedDate"), after.getAssignedDate(), ascending),
+                        beyond(Criteria.where("assignedDate").is(after.getAssignedDate()).and("_id"), after.getId(), ascending)));
+            }
+        } else if (after != null) {
+            criteria.add(beyond(Criteria.where("_id"), after.getId(), ascending));
+        }
+
+        Sort order = sort == OpportunityPageRequestDTO.SortField.ASSIGNED_DATE
+                ? Sort.by(direction, "assignedDate", "_id")
+                : Sort.by(direction, "_id");
+        return Query.query(and(criteria)).with(order);
+    }
+
+    public static Criteria and(List<Criteria> criteria) {
+        if (criteria.isEmpty()) {
+            return new Criteria();
+        }
+        return criteria.size() == 1 ? criteria.get(0) : new Criteria().andOperator(criteria);
+    }
+
+    private static Criteria beyond(Criteria criteria, Object value, boolean ascending) {
+        return ascending ? criteria.gt(value) : criteria.lt(value);
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.exceptions.BadRequestException;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public class OpportunityCursor {
+
+    private final Date assignedDate;
+    private final String id;
+
+    public static OpportunityCursor of(Opportunity opportunity, OpportunityPageRequestDTO.SortField sort) {
+        Date assignedDate = sort == OpportunityPageRequestDTO.SortField.ASSIGNED_DATE ? opportunity.getAssignedDate() : null;
+        return new OpportunityCursor(assignedDate, opportunity.getId());
+    }
+
+    public static OpportunityCursor decode(String cursor, OpportunityPageRequestDTO.SortField sort) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (sort != OpportunityPageRequestDTO.SortField.ASSIGNED_DATE) {
+            return new OpportunityCursor(null, validId(value));
+        }
+
+        String[] parts = value.split(":", 2);
+        if (parts.length != 2) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return new OpportunityCursor(new Date(Long.parseLong(parts[0])), validId(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // The id is compared against _id as an ObjectId; anything else would fail deep in the query instead
+    private static String validId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return id;
+    }
+
+    public String encode() {
+        String value = assignedDate == null ? id : assignedDate.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
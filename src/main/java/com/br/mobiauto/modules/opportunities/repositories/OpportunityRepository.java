@@ -7,7 +7,6 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface OpportunityRepository extends MongoRepository<Opportunity, String> {
-    List<Opportunity> findAllByUserIsNull();
+public interface OpportunityRepository extends MongoRepository<Opportunity, String>, OpportunityRepositoryCustom {
     List<Opportunity> findAllByUserId(String userId);
 }
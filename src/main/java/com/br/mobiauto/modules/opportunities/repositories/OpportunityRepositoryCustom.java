@@ -0,0 +1,24 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OpportunityRepositoryCustom {
+    List<Opportunity> findPage(OpportunityFilterDTO filter, OpportunityPageRequestDTO.SortField sort,
+                               Sort.Direction direction, OpportunityCursor after, int limit);
+
+    Stream<Opportunity> streamAll(OpportunityFilterDTO filter, Date modifiedSince);
+
+    // Unassigned leads in _id order, starting after afterId (from the start when null)
+    List<Opportunity> findUnassigned(String afterId, int limit);
+
+    // Users without any opportunity are left out
+    List<OpenLeadSummary> summarizeLoads(Collection<String> userIds);
+}
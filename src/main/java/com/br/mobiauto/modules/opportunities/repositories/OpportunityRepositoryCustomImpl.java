@@ -0,0 +1,77 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OpportunityRepositoryCustomImpl implements OpportunityRepositoryCustom {
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Opportunity> findPage(OpportunityFilterDTO filter, OpportunityPageRequestDTO.SortField sort,
+                                      Sort.Direction direction, OpportunityCursor after, int limit) {
+        return mongoTemplate.find(OpportunityCriteria.page(filter, sort, direction, after).limit(limit), Opportunity.class);
+    }
+
+    @Override
+    public Stream<Opportunity> streamAll(OpportunityFilterDTO filter, Date modifiedSince) {
+        List<Criteria> criteria = OpportunityCriteria.of(filter);
+        Query query;
+        if (modifiedSince != null) {
+            criteria.add(Criteria.where("lastModifiedDate").gte(modifiedSince));
+            query = Query.query(OpportunityCriteria.and(criteria)).with(Sort.by("lastModifiedDate", "_id"));
+        } else {
+            query = Query.query(OpportunityCriteria.and(criteria));
+        }
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, Opportunity.class);
+    }
+
+    /**
+     * One pass over the {userId, status} index instead of a count and a latest-assignment lookup
+     * per user.
+     */
+    @Override
+    public List<Opportunity> findUnassigned(String afterId, int limit) {
+        Criteria criteria = Criteria.where("userId").is(null);
+        if (afterId != null) {
+            criteria = criteria.and("_id").gt(afterId);
+        }
+        return mongoTemplate.find(Query.query(criteria).with(Sort.by("_id")).limit(limit), Opportunity.class);
+    }
+
+    @Override
+    public List<OpenLeadSummary> summarizeLoads(Collection<String> userIds) {
+        List<String> openStatuses = OpportunityStatus.openStatuses().stream()
+                .map(Enum::name)
+                .collect(Collectors.toList());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").in(userIds)),
+                Aggregation.group("userId")
+                        .sum(ConditionalOperators.when(ArrayOperators.In.arrayOf(openStatuses).containsValue(Fields.field("status")))
+                                .then(1)
+                                .otherwise(0)).as("openLeads")
+                        .max("assignedDate").as("lastAssignedDate"));
+        return mongoTemplate.aggregate(aggregation, Opportunity.class, OpenLeadSummary.class).getMappedResults();
+    }
+}
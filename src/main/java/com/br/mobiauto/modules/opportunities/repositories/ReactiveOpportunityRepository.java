@@ -0,0 +1,14 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive-streams counterpart of {@link OpportunityRepository}, only instantiated with the
+ * {@code reactive} profile.
+ */
+@Repository
+public interface ReactiveOpportunityRepository extends ReactiveMongoRepository<Opportunity, String>,
+        ReactiveOpportunityRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveOpportunityRepositoryCustom {
+    // Same order and cursor as OpportunityRepositoryCustom.findPage; no limit when limit is null
+    Flux<Opportunity> streamPage(OpportunityFilterDTO filter, OpportunityPageRequestDTO.SortField sort,
+                                 Sort.Direction direction, OpportunityCursor after, Integer limit);
+}
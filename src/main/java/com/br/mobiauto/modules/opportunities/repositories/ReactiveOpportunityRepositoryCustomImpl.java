@@ -0,0 +1,32 @@
+package com.br.mobiauto.modules.opportunities.repositories;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+public class ReactiveOpportunityRepositoryCustomImpl implements ReactiveOpportunityRepositoryCustom {
+
+    // Documents per round trip; the driver asks for the next batch only once the subscriber has demand.
+    // The servlet listing's largest page, so streams of up to that size need a single connection checkout:
+    // under load each getMore waits for the pool again, after the response status has been sent.
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Opportunity> streamPage(OpportunityFilterDTO filter, OpportunityPageRequestDTO.SortField sort,
+                                        Sort.Direction direction, OpportunityCursor after, Integer limit) {
+        Query query = OpportunityCriteria.page(filter, sort, direction, after);
+        if (limit != null) {
+            query.limit(limit);
+        }
+        query.cursorBatchSize(limit != null ? Math.min(limit, STREAM_BATCH_SIZE) : STREAM_BATCH_SIZE);
+        return reactiveMongoTemplate.find(query, Opportunity.class);
+    }
+}
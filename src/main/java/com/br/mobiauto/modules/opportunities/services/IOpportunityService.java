@@ -1,17 +1,31 @@
 package com.br.mobiauto.modules.opportunities.services;
 
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExportFormat;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
 import java.util.List;
 
 public interface IOpportunityService {
-    List<OpportunityResponseDTO> getAllOpportunities();
+    OpportunityPageDTO getAllOpportunities(OpportunityFilterDTO filter, OpportunityPageRequestDTO pageRequest);
+
+    void exportOpportunities(OpportunityFilterDTO filter, Date modifiedSince, OpportunityExportFormat format,
+                             OutputStream outputStream) throws IOException;
 
     OpportunityResponseDTO getOpportunityById(String id);
 
     OpportunityResponseDTO createOpportunity(OpportunityRequestDTO opportunityRequestDTO);
 
+    OpportunityIngestResponseDTO ingestOpportunities(InputStream inputStream) throws IOException;
+
     OpportunityResponseDTO updateOpportunity(String id, OpportunityRequestDTO opportunityRequestDTO);
 
     void deleteOpportunity(String id);
@@ -0,0 +1,22 @@
+package com.br.mobiauto.modules.opportunities.services;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveOpportunityService {
+    // Every opportunity after the cursor, or only the first pageRequest.size when it is set.
+    // A malformed cursor throws here, before anything is streamed.
+    Flux<OpportunityResponseDTO> streamOpportunities(OpportunityFilterDTO filter, OpportunityPageRequestDTO pageRequest);
+
+    Mono<OpportunityResponseDTO> getOpportunityById(String id);
+
+    Mono<OpportunityResponseDTO> createOpportunity(OpportunityRequestDTO opportunityRequestDTO);
+
+    Mono<OpportunityResponseDTO> assignOpportunity(String id, String assistantId);
+
+    Mono<OpportunityResponseDTO> updateOpportunityStatus(String id, String status, String conclusionReason);
+}
@@ -1,20 +1,34 @@
 package com.br.mobiauto.modules.opportunities.services.impl;
 
 import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.distribution.OpportunityDistributor;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExportFormat;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExporter;
+import com.br.mobiauto.modules.opportunities.ingestion.OpportunityIngestor;
 import com.br.mobiauto.modules.opportunities.mappers.OpportunityMapper;
 import com.br.mobiauto.modules.opportunities.models.Opportunity;
 import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityCursor;
 import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
 import com.br.mobiauto.modules.opportunities.services.IOpportunityService;
 import com.br.mobiauto.modules.users.models.User;
-import com.br.mobiauto.modules.users.models.enums.Role;
 import com.br.mobiauto.modules.users.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,12 +39,44 @@ public class OpportunityService implements IOpportunityService {
 
     private final OpportunityRepository opportunityRepository;
     private final UserRepository userRepository;
+    private final DealershipRepository dealershipRepository;
+    private final OpportunityDistributor opportunityDistributor;
+    private final AssistantLoadIndex assistantLoadIndex;
+    private final OpportunityExporter opportunityExporter;
+    private final OpportunityIngestor opportunityIngestor;
+
+    @Value("${mobiauto.opportunities.listing.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${mobiauto.opportunities.listing.max-page-size:500}")
+    private int maxPageSize = 500;
 
     @Override
-    public List<OpportunityResponseDTO> getAllOpportunities() {
-        return opportunityRepository.findAll().stream()
+    public OpportunityPageDTO getAllOpportunities(OpportunityFilterDTO filter, OpportunityPageRequestDTO pageRequest) {
+        OpportunityPageRequestDTO.SortField sort = pageRequest.getSort() != null
+                ? pageRequest.getSort() : OpportunityPageRequestDTO.SortField.ID;
+        Sort.Direction direction = pageRequest.getDirection() != null ? pageRequest.getDirection() : Sort.Direction.ASC;
+        int size = pageRequest.getSize() != null ? Math.max(1, Math.min(pageRequest.getSize(), maxPageSize)) : defaultPageSize;
+        OpportunityCursor after = pageRequest.getCursor() != null && !pageRequest.getCursor().isBlank()
+                ? OpportunityCursor.decode(pageRequest.getCursor(), sort) : null;
+
+        // One extra row tells whether there is a next page without a count query.
+        List<Opportunity> opportunities = opportunityRepository.findPage(filter, sort, direction, after, size + 1);
+        String nextCursor = null;
+        if (opportunities.size() > size) {
+            opportunities = opportunities.subList(0, size);
+            nextCursor = OpportunityCursor.of(opportunities.get(size - 1), sort).encode();
+        }
+        List<OpportunityResponseDTO> items = opportunities.stream()
                 .map(OpportunityMapper::toOpportunityResponseDTO)
                 .collect(Collectors.toList());
+        return new OpportunityPageDTO(items, nextCursor);
+    }
+
+    @Override
+    public void exportOpportunities(OpportunityFilterDTO filter, Date modifiedSince, OpportunityExportFormat format,
+                                    OutputStream outputStream) throws IOException {
+        opportunityExporter.export(filter, modifiedSince, format, outputStream);
     }
 
     @Override
@@ -42,19 +88,43 @@ public class OpportunityService implements IOpportunityService {
 
     @Override
     public OpportunityResponseDTO createOpportunity(OpportunityRequestDTO opportunityRequestDTO) {
+        if (opportunityRequestDTO.getDealershipId() != null
+                && !dealershipRepository.existsById(opportunityRequestDTO.getDealershipId())) {
+            throw new NotFoundException("Dealership not found");
+        }
+
         Opportunity opportunity = OpportunityMapper.toOpportunityEntity(opportunityRequestDTO);
         opportunity.setStatus(OpportunityStatus.NEW);
-        Opportunity savedOpportunity = opportunityRepository.save(opportunity);
+        assistantLoadIndex.acquire(opportunity.getDealershipId()).ifPresent(assistant -> {
+            opportunity.setUserId(assistant.getAssistantId());
+            opportunity.setUserName(assistant.getAssistantName());
+            opportunity.setAssignedDate(new Date());
+        });
+        Opportunity savedOpportunity;
+        try {
+            savedOpportunity = opportunityRepository.save(opportunity);
+        } catch (RuntimeException e) {
+            // acquire() already counted the lead against the assistant
+            assistantLoadIndex.transition(AssistantLoadIndex.loadHolder(opportunity), null);
+            throw e;
+        }
         return OpportunityMapper.toOpportunityResponseDTO(savedOpportunity);
     }
 
+    @Override
+    public OpportunityIngestResponseDTO ingestOpportunities(InputStream inputStream) throws IOException {
+        return opportunityIngestor.ingest(inputStream);
+    }
+
     @Override
     public OpportunityResponseDTO updateOpportunity(String id, OpportunityRequestDTO opportunityRequestDTO) {
         Opportunity opportunity = opportunityRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found"));
 
+        String previousLoadHolder = AssistantLoadIndex.loadHolder(opportunity);
         OpportunityMapper.updateOpportunityEntity(opportunityRequestDTO, opportunity);
         Opportunity updatedOpportunity = opportunityRepository.save(opportunity);
+        assistantLoadIndex.transition(previousLoadHolder, AssistantLoadIndex.loadHolder(updatedOpportunity));
         return OpportunityMapper.toOpportunityResponseDTO(updatedOpportunity);
     }
 
@@ -63,6 +133,7 @@ public class OpportunityService implements IOpportunityService {
         Opportunity opportunity = opportunityRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found"));
         opportunityRepository.delete(opportunity);
+        assistantLoadIndex.transition(AssistantLoadIndex.loadHolder(opportunity), null);
     }
 
     @Override
@@ -73,9 +144,12 @@ public class OpportunityService implements IOpportunityService {
         User assistant = userRepository.findById(assistantId)
                 .orElseThrow(() -> new NotFoundException("Assistant not found"));
 
-        opportunity.setUser(assistant);
+        String previousLoadHolder = AssistantLoadIndex.loadHolder(opportunity);
+        opportunity.setUserId(assistant.getId());
+        opportunity.setUserName(assistant.getName());
         opportunity.setAssignedDate(new Date());
         Opportunity updatedOpportunity = opportunityRepository.save(opportunity);
+        assistantLoadIndex.transition(previousLoadHolder, AssistantLoadIndex.loadHolder(updatedOpportunity));
         return OpportunityMapper.toOpportunityResponseDTO(updatedOpportunity);
     }
 
@@ -84,6 +158,7 @@ public class OpportunityService implements IOpportunityService {
         Opportunity opportunity = opportunityRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found"));
 
+        String previousLoadHolder = AssistantLoadIndex.loadHolder(opportunity);
         OpportunityStatus newStatus = OpportunityStatus.valueOf(status.toUpperCase());
         opportunity.setStatus(newStatus);
         opportunity.setConclusionReason(conclusionReason);
@@ -91,31 +166,14 @@ public class OpportunityService implements IOpportunityService {
             opportunity.setConclusionDate(new Date());
         }
         Opportunity updatedOpportunity = opportunityRepository.save(opportunity);
+        assistantLoadIndex.transition(previousLoadHolder, AssistantLoadIndex.loadHolder(updatedOpportunity));
         return OpportunityMapper.toOpportunityResponseDTO(updatedOpportunity);
     }
 
     @Override
     public List<OpportunityResponseDTO> distributeOpportunities() {
-        List<Opportunity> unassignedOpportunities = opportunityRepository.findAllByUserIsNull();
-        List<User> assistants = userRepository.findAllByRole(Role.ASSISTANT);
-
-        for (Opportunity opportunity : unassignedOpportunities) {
-            User leastBusyAssistant = assistants.stream()
-                    .sorted(Comparator.comparingInt(u -> getUserOpportunities(u.getId()).size()))
-                    .findFirst()
-                    .orElseThrow(() -> new NotFoundException("No assistants available"));
-
-            opportunity.setUser(leastBusyAssistant);
-            opportunity.setAssignedDate(new Date());
-            opportunityRepository.save(opportunity);
-        }
-
-        return opportunityRepository.findAll().stream()
+        return opportunityDistributor.distribute().stream()
                 .map(OpportunityMapper::toOpportunityResponseDTO)
                 .collect(Collectors.toList());
     }
-
-    private List<Opportunity> getUserOpportunities(String userId) {
-        return opportunityRepository.findAllByUserId(userId);
-    }
 }
@@ -0,0 +1,132 @@
+package com.br.mobiauto.modules.opportunities.services.impl;
+
+import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.distribution.ReactiveAssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.mappers.OpportunityMapper;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityCursor;
+import com.br.mobiauto.modules.opportunities.repositories.ReactiveOpportunityRepository;
+import com.br.mobiauto.modules.opportunities.services.IReactiveOpportunityService;
+import com.br.mobiauto.modules.users.models.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * The operations of {@link OpportunityService} served by the {@code reactive} profile, on the
+ * reactive-streams driver. Listing streams the whole result instead of returning a page: the
+ * cursor is read batch by batch as the client consumes the response.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveOpportunityService implements IReactiveOpportunityService {
+
+    private final ReactiveOpportunityRepository reactiveOpportunityRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveAssistantLoadIndex reactiveAssistantLoadIndex;
+
+    @Override
+    public Flux<OpportunityResponseDTO> streamOpportunities(OpportunityFilterDTO filter, OpportunityPageRequestDTO pageRequest) {
+        OpportunityPageRequestDTO.SortField sort = pageRequest.getSort() != null
+                ? pageRequest.getSort() : OpportunityPageRequestDTO.SortField.ID;
+        Sort.Direction direction = pageRequest.getDirection() != null ? pageRequest.getDirection() : Sort.Direction.ASC;
+        // No upper bound: the response is streamed, so a large size does not mean a large buffer
+        Integer limit = pageRequest.getSize() != null ? Math.max(1, pageRequest.getSize()) : null;
+        OpportunityCursor after = pageRequest.getCursor() != null && !pageRequest.getCursor().isBlank()
+                ? OpportunityCursor.decode(pageRequest.getCursor(), sort) : null;
+        return reactiveOpportunityRepository.streamPage(filter, sort, direction, after, limit)
+                .map(OpportunityMapper::toOpportunityResponseDTO);
+    }
+
+    @Override
+    public Mono<OpportunityResponseDTO> getOpportunityById(String id) {
+        return findOpportunity(id).map(OpportunityMapper::toOpportunityResponseDTO);
+    }
+
+    @Override
+    public Mono<OpportunityResponseDTO> createOpportunity(OpportunityRequestDTO opportunityRequestDTO) {
+        Mono<Void> dealershipExists = opportunityRequestDTO.getDealershipId() == null ? Mono.empty()
+                : reactiveMongoTemplate.exists(byId(opportunityRequestDTO.getDealershipId()), Dealership.class)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Dealership not found")))
+                .then();
+
+        return dealershipExists.then(Mono.defer(() -> {
+            Opportunity opportunity = OpportunityMapper.toOpportunityEntity(opportunityRequestDTO);
+            opportunity.setStatus(OpportunityStatus.NEW);
+            return reactiveAssistantLoadIndex.acquire(opportunity.getDealershipId())
+                    .doOnNext(assistant -> {
+                        opportunity.setUserId(assistant.getAssistantId());
+                        opportunity.setUserName(assistant.getAssistantName());
+                        opportunity.setAssignedDate(new Date());
+                    })
+                    .then(Mono.defer(() -> reactiveOpportunityRepository.save(opportunity)))
+                    // acquire() already counted the lead against the assistant
+                    .onErrorResume(e -> reactiveAssistantLoadIndex
+                            .transition(AssistantLoadIndex.loadHolder(opportunity), null)
+                            .then(Mono.error(e)));
+        })).map(OpportunityMapper::toOpportunityResponseDTO);
+    }
+
+    @Override
+    public Mono<OpportunityResponseDTO> assignOpportunity(String id, String assistantId) {
+        return findOpportunity(id).flatMap(found -> reactiveMongoTemplate.findById(assistantId, User.class)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Assistant not found")))
+                .flatMap(assistant -> save(found, opportunity -> {
+                    opportunity.setUserId(assistant.getId());
+                    opportunity.setUserName(assistant.getName());
+                    opportunity.setAssignedDate(new Date());
+                    return opportunity;
+                })));
+    }
+
+    @Override
+    public Mono<OpportunityResponseDTO> updateOpportunityStatus(String id, String status, String conclusionReason) {
+        return findOpportunity(id).flatMap(found -> save(found, opportunity -> {
+            OpportunityStatus newStatus = OpportunityStatus.valueOf(status.toUpperCase());
+            opportunity.setStatus(newStatus);
+            opportunity.setConclusionReason(conclusionReason);
+            if (newStatus == OpportunityStatus.COMPLETED) {
+                opportunity.setConclusionDate(new Date());
+            }
+            return opportunity;
+        }));
+    }
+
+    private Mono<Opportunity> findOpportunity(String id) {
+        return reactiveOpportunityRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Opportunity not found")));
+    }
+
+    // Applies the change, saves, and moves the open lead between assistants like the servlet service does
+    private Mono<OpportunityResponseDTO> save(Opportunity opportunity, Function<Opportunity, Opportunity> change) {
+        String previousLoadHolder = AssistantLoadIndex.loadHolder(opportunity);
+        return Mono.fromCallable(() -> change.apply(opportunity))
+                .flatMap(reactiveOpportunityRepository::save)
+                .flatMap(updated -> reactiveAssistantLoadIndex
+                        .transition(previousLoadHolder, AssistantLoadIndex.loadHolder(updated))
+                        .thenReturn(updated))
+                .map(OpportunityMapper::toOpportunityResponseDTO);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
@@ -1,13 +1,13 @@
 package com.br.mobiauto.modules.users.models;
 
-import com.br.mobiauto.modules.dealerships.models.Dealership;
 import com.br.mobiauto.modules.users.models.enums.Role;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -15,15 +15,17 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "users")
+@CompoundIndex(name = "role_dealership", def = "{'role': 1, 'dealershipId': 1}")
 public class User {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String email;
     private String name;
     private String password;
 
     private Role role;
 
-    @DBRef
-    private Dealership dealership;
+    @Indexed
+    private String dealershipId;
 }
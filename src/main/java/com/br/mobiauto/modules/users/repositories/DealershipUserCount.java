@@ -0,0 +1,16 @@
+package com.br.mobiauto.modules.users.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DealershipUserCount {
+
+    @Id
+    private String dealershipId;
+    private long count;
+}
@@ -2,9 +2,13 @@ package com.br.mobiauto.modules.users.repositories;
 
 import com.br.mobiauto.modules.users.models.User;
 import com.br.mobiauto.modules.users.models.enums.Role;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +16,14 @@ import java.util.Optional;
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     List<User> findAllByDealershipId(String dealershipId);
+    Slice<User> findAllByDealershipId(String dealershipId, Pageable pageable);
+    long countByDealershipId(String dealershipId);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'dealershipId': { '$in': ?0 } } }",
+            "{ '$group': { '_id': '$dealershipId', 'count': { '$sum': 1 } } }"
+    })
+    List<DealershipUserCount> countByDealershipIdIn(Collection<String> dealershipIds);
     List<User> findAllByRole(Role role);
+    List<User> findAllByDealershipIdAndRole(String dealershipId, Role role);
 }
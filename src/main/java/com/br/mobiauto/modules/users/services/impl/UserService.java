@@ -1,8 +1,9 @@
 package com.br.mobiauto.modules.users.services.impl;
 
+import com.br.mobiauto.caching.CacheNames;
 import com.br.mobiauto.exceptions.ConflictException;
 import com.br.mobiauto.exceptions.NotFoundException;
-import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
 import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
 import com.br.mobiauto.modules.users.models.User;
@@ -11,11 +12,16 @@ import com.br.mobiauto.modules.users.mappers.UserMapper;
 import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
 import com.br.mobiauto.modules.users.repositories.UserRepository;
 import com.br.mobiauto.modules.users.services.IUserService;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,9 +31,12 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final DealershipRepository dealershipRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+    private final AssistantLoadIndex assistantLoadIndex;
 
     @Override
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#email")
     public UserResponseDTO getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .map(UserMapper::toUserResponseDTO)
@@ -35,28 +44,44 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIPS, key = "#userRequestDTO.dealershipId"),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIP_USERS, key = "#userRequestDTO.dealershipId")
+    })
     public UserResponseDTO saveUser(UserRequestDTO userRequestDTO) {
         if (userRepository.findByEmail(userRequestDTO.getEmail()).isPresent()) {
             throw new ConflictException("Email is already in use");
         }
 
-        Dealership dealership = dealershipRepository.findById(userRequestDTO.getDealershipId())
-                .orElseThrow(() -> new NotFoundException("Dealership not found"));
+        if (!dealershipRepository.existsById(userRequestDTO.getDealershipId())) {
+            throw new NotFoundException("Dealership not found");
+        }
 
         User user = UserMapper.toUserEntity(userRequestDTO);
-        user.setDealership(dealership);
-        user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
+        user.setDealershipId(userRequestDTO.getDealershipId());
+        user.setPassword(passwordHashingService.hash(userRequestDTO.getPassword()));
 
         User savedUser = userRepository.save(user);
         return UserMapper.toUserResponseDTO(savedUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.USERS, key = "#email"),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIP_USERS, allEntries = true)
+    })
     public UserResponseDTO updateUserRole(String email, Role role) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User not found"));
+        Role previousRole = user.getRole();
         user.setRole(role);
         User savedUser = userRepository.save(user);
+        if (previousRole != role) {
+            tokenAuthenticationCache.revokeUser(email);
+        }
+        if (previousRole == Role.ASSISTANT && role != Role.ASSISTANT) {
+            assistantLoadIndex.removeAssistant(user.getId());
+        }
         return UserMapper.toUserResponseDTO(savedUser);
     }
 
@@ -68,6 +93,12 @@ public class UserService implements IUserService {
     }
 
     @Override
+    // The user's dealership is only known after the lookup, so per-dealership entries are all dropped
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.USERS, key = "#email"),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIPS, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIP_USERS, allEntries = true)
+    })
     public UserResponseDTO updateUser(String email, UserRequestDTO userRequestDTO) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -78,29 +109,52 @@ public class UserService implements IUserService {
                     throw new ConflictException("Email is already in use");
                 });
 
+        Role previousRole = user.getRole();
+        String previousPassword = user.getPassword();
+        String previousDealershipId = user.getDealershipId();
         Optional.ofNullable(userRequestDTO.getName()).ifPresent(user::setName);
         Optional.ofNullable(userRequestDTO.getEmail()).ifPresent(user::setEmail);
         Optional.ofNullable(userRequestDTO.getPassword()).filter(password -> !password.isEmpty())
-                .ifPresent(password -> user.setPassword(passwordEncoder.encode(password)));
+                .ifPresent(password -> user.setPassword(passwordHashingService.hash(password)));
         Optional.ofNullable(userRequestDTO.getRole()).ifPresent(user::setRole);
 
-        var dealership = dealershipRepository.findById(userRequestDTO.getDealershipId())
-                .orElseThrow(() -> new NotFoundException("Dealership not found"));
+        if (!dealershipRepository.existsById(userRequestDTO.getDealershipId())) {
+            throw new NotFoundException("Dealership not found");
+        }
 
-        user.setDealership(dealership);
+        user.setDealershipId(userRequestDTO.getDealershipId());
 
         User updatedUser = userRepository.save(user);
+        // Tokens carry the email and role they were issued for
+        if (!email.equals(user.getEmail()) || previousRole != user.getRole()
+                || !Objects.equals(previousPassword, user.getPassword())) {
+            tokenAuthenticationCache.revokeUser(email);
+        }
+        if (previousRole == Role.ASSISTANT && (user.getRole() != Role.ASSISTANT
+                || !Objects.equals(previousDealershipId, user.getDealershipId()))) {
+            assistantLoadIndex.removeAssistant(user.getId());
+        }
         return UserMapper.toUserResponseDTO(updatedUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.USERS, key = "#email"),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIPS, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.DEALERSHIP_USERS, allEntries = true)
+    })
     public void deleteUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         userRepository.delete(user);
+        tokenAuthenticationCache.revokeUser(email);
+        if (user.getRole() == Role.ASSISTANT) {
+            assistantLoadIndex.removeAssistant(user.getId());
+        }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.DEALERSHIP_USERS, key = "#dealershipId")
     public List<UserResponseDTO> getUsersByDealership(String dealershipId) {
         return userRepository.findAllByDealershipId(dealershipId).stream()
                 .map(UserMapper::toUserResponseDTO)
@@ -0,0 +1,150 @@
+package com.br.mobiauto.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Logs, once the indexes declared on the documents have been created, every derived repository
+ * query whose criteria no index can serve. An index counts when its first key is one of the
+ * query's criteria (or, for criteria-less queries, its first sort key); a partial index counts
+ * only when the query selects the same documents its filter does. Methods with {@code @Query} or
+ * {@code @Aggregation} are not checked.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexCoverageReport implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexCoverageReport.class);
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Repositories repositories = new Repositories(applicationContext);
+        int checked = 0;
+        List<String> uncovered = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            checked += derivedQueries(repositoryInterface, domainType).size();
+            uncovered.addAll(uncoveredQueryMethods(repositoryInterface, domainType));
+        }
+        uncovered.forEach(method -> log.warn("{} has no supporting index", method));
+        log.info("Index coverage: {} of {} derived query methods backed by an index", checked - uncovered.size(), checked);
+    }
+
+    List<String> uncoveredQueryMethods(Class<?> repositoryInterface, Class<?> domainType) {
+        List<IndexInfo> indexes = mongoTemplate.indexOps(domainType).getIndexInfo();
+        List<String> uncovered = new ArrayList<>();
+        derivedQueries(repositoryInterface, domainType).forEach((methodName, partTree) -> {
+            if (!isCovered(partTree, domainType, indexes)) {
+                uncovered.add(repositoryInterface.getSimpleName() + "." + methodName);
+            }
+        });
+        return uncovered;
+    }
+
+    private boolean isCovered(PartTree partTree, Class<?> domainType, List<IndexInfo> indexes) {
+        boolean hasCriteria = false;
+        for (PartTree.OrPart orPart : partTree) {
+            Map<String, Part.Type> criteria = new LinkedHashMap<>();
+            orPart.forEach(part -> criteria.put(fieldName(part), part.getType()));
+            if (criteria.isEmpty()) {
+                continue;
+            }
+            hasCriteria = true;
+            // Every branch of an $or needs its own index, or the whole query falls back to a collection scan
+            if (indexes.stream().noneMatch(index -> servesCriteria(index, criteria))) {
+                return false;
+            }
+        }
+        if (hasCriteria) {
+            return true;
+        }
+        Sort.Order firstOrder = partTree.getSort().stream().findFirst().orElse(null);
+        if (firstOrder == null) {
+            return true;
+        }
+        String sortField = fieldName(domainType, firstOrder.getProperty());
+        return indexes.stream()
+                .filter(index -> index.getPartialFilterExpression() == null)
+                .anyMatch(index -> sortField.equals(firstKey(index)));
+    }
+
+    private static boolean servesCriteria(IndexInfo index, Map<String, Part.Type> criteria) {
+        if (!criteria.containsKey(firstKey(index))) {
+            return false;
+        }
+        if (index.getPartialFilterExpression() == null) {
+            return true;
+        }
+        for (Map.Entry<String, Object> filter : Document.parse(index.getPartialFilterExpression()).entrySet()) {
+            Part.Type type = criteria.get(filter.getKey());
+            if (type == null || (filter.getValue() == null && type != Part.Type.IS_NULL)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String firstKey(IndexInfo index) {
+        return index.getIndexFields().isEmpty() ? null : index.getIndexFields().get(0).getKey();
+    }
+
+    private String fieldName(Part part) {
+        return mappingContext().getPersistentPropertyPath(part.getProperty())
+                .toDotPath(MongoPersistentProperty::getFieldName);
+    }
+
+    private String fieldName(Class<?> domainType, String property) {
+        MongoPersistentProperty persistentProperty = mappingContext().getRequiredPersistentEntity(domainType)
+                .getPersistentProperty(property);
+        return persistentProperty != null ? persistentProperty.getFieldName() : property;
+    }
+
+    private MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext() {
+        return mongoTemplate.getConverter().getMappingContext();
+    }
+
+    // Overloads share a name and therefore a query, so they are checked once
+    private static Map<String, PartTree> derivedQueries(Class<?> repositoryInterface, Class<?> domainType) {
+        Map<String, PartTree> queries = new TreeMap<>();
+        for (Method method : repositoryInterface.getDeclaredMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.isSynthetic()
+                    || method.isAnnotationPresent(Query.class) || method.isAnnotationPresent(Aggregation.class)) {
+                continue;
+            }
+            try {
+                queries.put(method.getName(), new PartTree(method.getName(), domainType));
+            } catch (RuntimeException e) {
+                log.debug("Skipping {}.{}: {}", repositoryInterface.getSimpleName(), method.getName(), e.getMessage());
+            }
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,100 @@
+package com.br.mobiauto.monitoring;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of an {@code explain} result that tell whether a query used an index: the winning
+ * plan's access stage and how many index keys and documents it had to read to return its results.
+ */
+public record PlanSummary(String stage, String indexName, long keysExamined, long docsExamined, long returned) {
+
+    public static final String COLLSCAN = "COLLSCAN";
+    public static final String IXSCAN = "IXSCAN";
+
+    public boolean isCollectionScan() {
+        return COLLSCAN.equals(stage);
+    }
+
+    public static PlanSummary from(Document explain) {
+        Document queryPlanner = findQueryPlanner(explain);
+        Document winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan", Document.class) : null;
+        // Plans run by the slot-based engine nest the classic plan tree under queryPlan
+        if (winningPlan != null && winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+        List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+
+        String stage = null;
+        String indexName = null;
+        for (Document candidate : stages) {
+            String name = candidate.getString("stage");
+            if (COLLSCAN.equals(name)) {
+                stage = COLLSCAN;
+                indexName = null;
+                break;
+            }
+            if (IXSCAN.equals(name) && stage == null) {
+                stage = IXSCAN;
+                indexName = candidate.getString("indexName");
+            }
+        }
+        if (stage == null && !stages.isEmpty()) {
+            stage = stages.get(0).getString("stage");
+        }
+
+        Document executionStats = findExecutionStats(explain);
+        if (executionStats == null) {
+            return new PlanSummary(stage, indexName, -1, -1, -1);
+        }
+        return new PlanSummary(stage, indexName,
+                number(executionStats, "totalKeysExamined"),
+                number(executionStats, "totalDocsExamined"),
+                number(executionStats, "nReturned"));
+    }
+
+    private static Document findQueryPlanner(Document explain) {
+        if (explain.containsKey("queryPlanner")) {
+            return explain.get("queryPlanner", Document.class);
+        }
+        // aggregate explains wrap the find stage as stages[0].$cursor
+        Document cursor = firstCursorStage(explain);
+        return cursor != null ? cursor.get("queryPlanner", Document.class) : null;
+    }
+
+    private static Document findExecutionStats(Document explain) {
+        if (explain.containsKey("executionStats")) {
+            return explain.get("executionStats", Document.class);
+        }
+        Document cursor = firstCursorStage(explain);
+        return cursor != null ? cursor.get("executionStats", Document.class) : null;
+    }
+
+    private static Document firstCursorStage(Document explain) {
+        List<Document> stages = explain.getList("stages", Document.class);
+        if (stages == null || stages.isEmpty()) {
+            return null;
+        }
+        return stages.get(0).get("$cursor", Document.class);
+    }
+
+    private static void collectStages(Document plan, List<Document> stages) {
+        if (plan == null) {
+            return;
+        }
+        stages.add(plan);
+        collectStages(plan.get("inputStage", Document.class), stages);
+        List<Document> inputStages = plan.getList("inputStages", Document.class);
+        if (inputStages != null) {
+            inputStages.forEach(inputStage -> collectStages(inputStage, stages));
+        }
+    }
+
+    private static long number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.longValue() : -1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.br.mobiauto.monitoring;
+
+import java.time.Instant;
+
+/**
+ * A command that crossed the slow-query threshold. {@code shape} is the command with every literal
+ * replaced by {@code "?"}, so lead and user details never reach the admin endpoint; {@code plan}
+ * is null when the command is not explainable or its explain failed or was skipped.
+ */
+public record SlowQuery(Instant finishedAt, String database, String collection, String command,
+                        long durationMillis, boolean failed, String shape, PlanSummary plan) {
+}
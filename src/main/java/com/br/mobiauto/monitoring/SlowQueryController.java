@@ -0,0 +1,52 @@
+package com.br.mobiauto.monitoring;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/slow-queries")
+@Tag(name = "Slow queries", description = "Mongo commands slower than the configured threshold")
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    @Operation(summary = "Get slow queries", description = "Retrieve the most recent slow queries, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Slow queries retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SlowQuery.class)),
+                            examples = @ExampleObject(value = "[{\"finishedAt\":\"2023-07-02T12:00:00Z\",\"database\":\"mobiauto\",\"collection\":\"opportunities\",\"command\":\"find\",\"durationMillis\":412,\"failed\":false,\"shape\":\"{\\\"find\\\": \\\"opportunities\\\", \\\"filter\\\": {\\\"userId\\\": \\\"?\\\"}}\",\"plan\":{\"stage\":\"COLLSCAN\",\"indexName\":null,\"keysExamined\":0,\"docsExamined\":250000,\"returned\":12}}]")))
+    })
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog.recent();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping
+    @Operation(summary = "Clear slow queries", description = "Empty the slow-query buffer, e.g. after adding an index")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Slow queries cleared successfully")
+    })
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
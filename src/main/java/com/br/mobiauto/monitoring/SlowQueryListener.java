@@ -0,0 +1,265 @@
+package com.br.mobiauto.monitoring;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Mongo commands slower than {@code mobiauto.monitoring.slow-queries.threshold} in the
+ * {@link SlowQueryLog}. Slow reads are re-run with {@code explain(executionStats)} on a single
+ * background thread, never on the driver's thread, so the plan summary shows whether the query
+ * used an index. A collection scan on a hot collection is logged and counted.
+ */
+@Component
+public class SlowQueryListener implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    // Session, transaction and routing fields that explain rejects or that say nothing about the query
+    private static final Set<String> NON_QUERY_FIELDS = Set.of(
+            "lsid", "txnNumber", "autocommit", "startTransaction", "readConcern", "writeConcern", "apiVersion",
+            "apiStrict", "apiDeprecationErrors");
+
+    // The statement list of each write command; explain accepts only one statement
+    private static final Map<String, String> STATEMENT_FIELDS = Map.of("update", "updates", "delete", "deletes");
+
+    // Index-relevant but free of client data, so kept verbatim in the shape
+    private static final Set<String> VERBATIM_FIELDS = Set.of("sort", "projection", "hint", "limit");
+
+    private static final int MAX_EXPLAINED_SHAPES = 1_000;
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final Executor explainExecutor;
+    private final Clock clock;
+    private final Map<Integer, InFlightCommand> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlowQueryListener(SlowQueryProperties properties, SlowQueryLog slowQueryLog, MeterRegistry meterRegistry,
+                             ObjectProvider<MongoClient> mongoClient) {
+        this(properties, slowQueryLog, meterRegistry, mongoClient, explainExecutor(properties), Clock.systemUTC());
+    }
+
+    SlowQueryListener(SlowQueryProperties properties, SlowQueryLog slowQueryLog, MeterRegistry meterRegistry,
+                      ObjectProvider<MongoClient> mongoClient, Executor explainExecutor, Clock clock) {
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+        this.meterRegistry = meterRegistry;
+        this.mongoClient = mongoClient;
+        this.explainExecutor = explainExecutor;
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (explainExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (properties.isEnabled() && isQuery(event.getCommandName())) {
+            // The event's document is only valid during this call, and whether the command is slow is
+            // not known yet, so only the fields the shape and the explain need are copied out of it
+            inFlight.put(event.getRequestId(), InFlightCommand.of(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        InFlightCommand command = inFlight.remove(event.getRequestId());
+        if (command != null) {
+            onCompleted(event.getDatabaseName(), event.getCommandName(), command,
+                    event.getElapsedTime(TimeUnit.MILLISECONDS), false);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        InFlightCommand command = inFlight.remove(event.getRequestId());
+        if (command != null) {
+            onCompleted(event.getDatabaseName(), event.getCommandName(), command,
+                    event.getElapsedTime(TimeUnit.MILLISECONDS), true);
+        }
+    }
+
+    private void onCompleted(String database, String commandName, InFlightCommand command, long durationMillis,
+                             boolean failed) {
+        if (durationMillis < properties.getThreshold().toMillis()) {
+            return;
+        }
+        String collection = command.collection();
+        Counter.builder("mongodb.slow.queries")
+                .description("Mongo commands slower than the slow-query threshold")
+                .tag("command", commandName)
+                .tag("collection", collection)
+                .register(meterRegistry)
+                .increment();
+
+        BsonDocument query = command.query();
+        String shape = shapeOf(commandName, query).toJson();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(clock), database, collection, commandName, durationMillis,
+                failed, shape, null);
+        if (!properties.isExplain() || !command.explainable() || !claimExplain(shape)) {
+            slowQueryLog.record(slowQuery);
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> slowQueryLog.record(explain(slowQuery, query)));
+        } catch (RejectedExecutionException e) {
+            slowQueryLog.record(slowQuery);
+        }
+    }
+
+    private SlowQuery explain(SlowQuery slowQuery, BsonDocument query) {
+        PlanSummary plan;
+        try {
+            Document explain = mongoClient.getObject()
+                    .getDatabase(slowQuery.database())
+                    .runCommand(new BsonDocument("explain", query).append("verbosity", new BsonString("executionStats")));
+            plan = PlanSummary.from(explain);
+        } catch (RuntimeException e) {
+            log.debug("Could not explain slow {} on {}: {}", slowQuery.command(), slowQuery.collection(), e.getMessage());
+            return slowQuery;
+        }
+        if (plan.isCollectionScan() && properties.getHotCollections().contains(slowQuery.collection())) {
+            log.warn("Collection scan on {} took {} ms, examined {} documents to return {}: {}",
+                    slowQuery.collection(), slowQuery.durationMillis(), plan.docsExamined(), plan.returned(),
+                    slowQuery.shape());
+            Counter.builder("mongodb.slow.queries.collscan")
+                    .description("Slow queries that scanned a whole hot collection")
+                    .tag("collection", slowQuery.collection())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return new SlowQuery(slowQuery.finishedAt(), slowQuery.database(), slowQuery.collection(),
+                slowQuery.command(), slowQuery.durationMillis(), slowQuery.failed(), slowQuery.shape(), plan);
+    }
+
+    private boolean claimExplain(String shape) {
+        long now = clock.millis();
+        long interval = properties.getExplainInterval().toMillis();
+        if (lastExplained.size() >= MAX_EXPLAINED_SHAPES) {
+            lastExplained.values().removeIf(explainedAt -> now - explainedAt >= interval);
+        }
+        boolean[] claimed = {false};
+        lastExplained.compute(shape, (key, explainedAt) -> {
+            if (explainedAt == null || now - explainedAt >= interval) {
+                claimed[0] = true;
+                return now;
+            }
+            return explainedAt;
+        });
+        return claimed[0];
+    }
+
+    private static boolean isQuery(String commandName) {
+        return EXPLAINABLE_COMMANDS.contains(commandName) || "getMore".equals(commandName);
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : "unknown";
+    }
+
+    private static BsonValue copyOf(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        if (value.isArray()) {
+            return value.asArray().clone();
+        }
+        return value;
+    }
+
+    static BsonDocument shapeOf(String commandName, BsonDocument query) {
+        BsonDocument shape = new BsonDocument();
+        query.forEach((key, value) -> shape.append(key,
+                key.equals(commandName) || VERBATIM_FIELDS.contains(key) ? value : shapeOf(value)));
+        return shape;
+    }
+
+    private static BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, field) -> shape.append(key, shapeOf(field)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            value.asArray().forEach(element -> shape.add(shapeOf(element)));
+            return shape;
+        }
+        return new BsonString("?");
+    }
+
+    private record InFlightCommand(String collection, BsonDocument query, boolean explainable) {
+
+        static InFlightCommand of(String commandName, BsonDocument command) {
+            String statementsField = STATEMENT_FIELDS.get(commandName);
+            boolean batch = false;
+            BsonDocument query = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+                String key = field.getKey();
+                if (key.startsWith("$") || NON_QUERY_FIELDS.contains(key)) {
+                    continue;
+                }
+                BsonValue value = field.getValue();
+                if (key.equals(statementsField) && value.isArray() && value.asArray().size() > 1) {
+                    // A multi-statement batch cannot be explained; keep the shape of its first statement only
+                    batch = true;
+                    query.append(key, new BsonArray(List.of(shapeOf(value.asArray().get(0)))));
+                } else {
+                    query.append(key, copyOf(value));
+                }
+            }
+            return new InFlightCommand(collectionOf(commandName, command), query,
+                    EXPLAINABLE_COMMANDS.contains(commandName) && !batch);
+        }
+    }
+
+    private static Executor explainExecutor(SlowQueryProperties properties) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getExplainQueueSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.mobiauto.monitoring;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ring buffer of the most recent slow queries.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final int capacity;
+    private final ArrayDeque<SlowQuery> entries;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.capacity = Math.max(1, properties.getBufferSize());
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    public synchronized void record(SlowQuery slowQuery) {
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(slowQuery);
+    }
+
+    // Newest first
+    public synchronized List<SlowQuery> recent() {
+        List<SlowQuery> snapshot = new ArrayList<>(entries);
+        Collections.reverse(snapshot);
+        return snapshot;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,34 @@
+package com.br.mobiauto.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.monitoring.slow-queries")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    // Commands taking at least this long are recorded
+    private Duration threshold = Duration.ofMillis(100);
+
+    // Number of slow queries kept for /api/admin/slow-queries; the oldest are dropped first
+    private int bufferSize = 200;
+
+    // Re-runs slow reads with explain(executionStats); set to false to record timings only
+    private boolean explain = true;
+
+    // The same query shape is explained at most once per interval
+    private Duration explainInterval = Duration.ofMinutes(5);
+
+    // Slow queries waiting for an explain; overflow is recorded without a plan
+    private int explainQueueSize = 16;
+
+    // Collection scans on these raise the mongodb.slow.queries.collscan counter
+    private Set<String> hotCollections = Set.of("opportunities", "users", "dealerships");
+}
@@ -0,0 +1,52 @@
+package com.br.mobiauto.security.filters;
+
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The checks of {@link SecurityFilter} and the controllers' {@code @PreAuthorize} for the
+ * functional routes of the {@code reactive} profile, which Spring Security's servlet filter chain
+ * does not see. Verification is CPU-only and usually a cache hit, so it runs on the event loop.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSecurityFilter {
+
+    private static final String UNAUTHORIZED_BODY = "{\"error\": \"Unauthorized\", \"message\": \"Invalid JWT token\"}";
+
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> hasAnyRole(String... roles) {
+        Set<String> authorities = Arrays.stream(roles).map(role -> "ROLE_" + role).collect(Collectors.toSet());
+        return (request, next) -> {
+            String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith("Bearer ")) {
+                return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+            }
+            Authentication authentication = tokenAuthenticationCache.authenticate(header.substring("Bearer ".length()));
+            if (authentication == null) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(UNAUTHORIZED_BODY);
+            }
+            boolean granted = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(authorities::contains);
+            return granted ? next.handle(request) : ServerResponse.status(HttpStatus.FORBIDDEN).build();
+        };
+    }
+}
@@ -1,10 +1,8 @@
 package com.br.mobiauto.security.filters;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
-import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,13 +13,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"error\": \"Unauthorized\", \"message\": \"Invalid JWT token\"}".getBytes(StandardCharsets.UTF_8);
+
     @Autowired
-    private JWTProvider jwtProvider;
+    private TokenAuthenticationCache tokenAuthenticationCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -35,22 +36,17 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
 
         if (header != null && header.startsWith("Bearer ")) {
-            String token = header.replace("Bearer ", "");
-            DecodedJWT decodedJWT = jwtProvider.validateToken(token);
-
-            if (decodedJWT != null) {
-                String username = decodedJWT.getSubject();
-                String role = decodedJWT.getClaim("role").asString();
+            String token = header.substring("Bearer ".length());
+            Authentication authentication = tokenAuthenticationCache.authenticate(token);
 
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.toUpperCase());
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username, null, Collections.singletonList(authority));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("{\"error\": \"Unauthorized\", \"message\": \"Invalid JWT token\"}");
                 response.setContentType("application/json");
                 response.setCharacterEncoding("UTF-8");
+                response.setContentLength(UNAUTHORIZED_BODY.length);
+                response.getOutputStream().write(UNAUTHORIZED_BODY);
                 return;
             }
         }
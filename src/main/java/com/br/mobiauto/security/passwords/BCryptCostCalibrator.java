@@ -0,0 +1,42 @@
+package com.br.mobiauto.security.passwords;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this machine stays within a budget. Each cost
+ * step doubles the work, so one measurement at the minimum cost is enough to extrapolate.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return strengthFor(samples[SAMPLES / 2], targetHashTime.toNanos(), minStrength, maxStrength);
+    }
+
+    static int strengthFor(long nanosAtMinStrength, long targetNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long estimate = nanosAtMinStrength;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            strength++;
+            estimate *= 2;
+        }
+        return strength;
+    }
+}
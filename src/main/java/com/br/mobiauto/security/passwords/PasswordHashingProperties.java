@@ -0,0 +1,27 @@
+package com.br.mobiauto.security.passwords;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.security.passwords")
+public class PasswordHashingProperties {
+
+    // Fixed BCrypt cost; 0 calibrates at startup against targetHashTime
+    private int strength = 0;
+
+    private Duration targetHashTime = Duration.ofMillis(250);
+
+    private int minStrength = 10;
+
+    private int maxStrength = 14;
+
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Hashes waiting for a thread; beyond this callers get a 503
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,124 @@
+package com.br.mobiauto.security.passwords;
+
+import com.br.mobiauto.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every password hash and comparison on a small dedicated pool. Request threads still wait
+ * for the result, but at most {@code threads} hashes burn CPU at once and a full queue is answered
+ * with a 503 instead of piling up behind the servlet pool.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+
+    // Compared against when the account does not exist, so unknown emails take as long as wrong passwords
+    private volatile String unknownAccountHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Compares the password and, when the stored hash uses an outdated encoder or cost, hashes it
+     * again in the same task so the caller can persist the upgrade. A null hash (unknown account)
+     * never matches.
+     */
+    public PasswordCheck verify(String rawPassword, String encodedPassword) {
+        return run(() -> {
+            if (encodedPassword == null) {
+                passwordEncoder.matches(rawPassword, unknownAccountHash());
+                return PasswordCheck.MISMATCH;
+            }
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return PasswordCheck.MISMATCH;
+            }
+            if (passwordEncoder.upgradeEncoding(encodedPassword)) {
+                return new PasswordCheck(true, passwordEncoder.encode(rawPassword));
+            }
+            return PasswordCheck.MATCH;
+        });
+    }
+
+    private String unknownAccountHash() {
+        String hash = unknownAccountHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownAccountHash = hash;
+        }
+        return hash;
+    }
+
+    int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        try {
+            return monitoredExecutor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent password operations, try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Outcome of {@link #verify}; {@code upgradedHash} is set when the stored hash should be replaced.
+     */
+    public record PasswordCheck(boolean matches, String upgradedHash) {
+
+        static final PasswordCheck MATCH = new PasswordCheck(true, null);
+        static final PasswordCheck MISMATCH = new PasswordCheck(false, null);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.br.mobiauto.security.providers;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.security.jwt")
+public class JWTProperties {
+
+    // When set, the signing secret is read from this file and re-read every reloadInterval
+    private Path secretFile;
+
+    private Duration reloadInterval = Duration.ofSeconds(30);
+
+    private Duration accessTokenTtl = Duration.ofMinutes(10);
+
+    private Duration refreshTokenTtl = Duration.ofHours(8);
+
+    // Refresh tokens are not issued past this long after the login that started the session
+    private Duration maxSessionLifetime = Duration.ofHours(24);
+
+    // memory or redis; use redis when more than one instance serves /api/auth
+    private String revocationStore = "memory";
+
+    // Verified tokens kept by TokenAuthenticationCache; 0 disables the cache
+    private long cacheMaximumSize = 10_000;
+
+    private Duration cacheTtl = Duration.ofMinutes(5);
+}
@@ -1,37 +1,203 @@
 package com.br.mobiauto.security.providers;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * Issues and verifies the API tokens. The HMAC algorithm and verifier are built once per secret and
+ * shared by all request threads. When the secret changes, tokens signed with the previous one stay
+ * valid until they would have expired anyway. With a secret file configured, the file is the only
+ * source of the secret: the one in the application properties is never used to sign or verify.
+ */
 @Service
-public class JWTProvider {
+public class JWTProvider implements SchedulingConfigurer {
 
-    @Value("${spring.security.jwt.secret}")
-    private String secretKey;
+    private static final Logger log = LoggerFactory.getLogger(JWTProvider.class);
+
+    public static final String ISSUER = "mobiauto";
+
+    public static final String AUTH_TIME_CLAIM = "auth_time";
+
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String REFRESH_TOKEN_USE = "refresh";
+
+    private final JWTProperties properties;
+    private final TokenValidationFailures validationFailures;
+
+    private volatile SigningKey signingKey;
+    private volatile SigningKey previousSigningKey;
+    private volatile int keyVersion;
+
+    public JWTProvider(@Value("${spring.security.jwt.secret}") String secretKey, JWTProperties properties,
+                       TokenValidationFailures validationFailures) {
+        this.properties = properties;
+        this.validationFailures = validationFailures;
+        Path secretFile = properties.getSecretFile();
+        this.signingKey = SigningKey.of(secretFile != null ? readInitialSecret(secretFile) : secretKey);
+    }
 
     public DecodedJWT validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            return JWT.require(algorithm).build().verify(token);
+            DecodedJWT decodedJWT = verify(token, false);
+            Claim tokenUse = decodedJWT.getClaim(TOKEN_USE_CLAIM);
+            if (REFRESH_TOKEN_USE.equals(tokenUse.asString())) {
+                throw new IncorrectClaimException("A refresh token cannot be used as an access token", TOKEN_USE_CLAIM, tokenUse);
+            }
+            return decodedJWT;
+        } catch (JWTVerificationException e) {
+            validationFailures.record(e);
+            return null;
+        }
+    }
+
+    public DecodedJWT validateRefreshToken(String token) {
+        try {
+            return verify(token, true);
         } catch (JWTVerificationException e) {
-            e.printStackTrace();
+            validationFailures.record(e);
             return null;
         }
     }
 
     public String generateToken(String username, String role) {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
         return JWT.create()
-                .withIssuer("mobiauto")
+                .withIssuer(ISSUER)
                 .withSubject(username)
                 .withClaim("role", role)
-                .withExpiresAt(new Date(System.currentTimeMillis() + 600000)) // 10 minutes
-                .sign(algorithm);
+                .withIssuedAt(new Date())
+                .withExpiresAt(new Date(System.currentTimeMillis() + properties.getAccessTokenTtl().toMillis()))
+                .sign(signingKey.algorithm());
+    }
+
+    /**
+     * Refresh tokens carry a unique id so a single one can be revoked on logout or once it has been
+     * exchanged for a new pair. They also carry the time the session started, copied unchanged on
+     * every exchange, and never outlive {@link JWTProperties#getMaxSessionLifetime()} from it.
+     */
+    public String generateRefreshToken(String username, Instant sessionStart) {
+        Instant expiresAt = Instant.now().plus(properties.getRefreshTokenTtl());
+        Instant sessionEnd = sessionStart.plus(properties.getMaxSessionLifetime());
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(username)
+                .withClaim(AUTH_TIME_CLAIM, sessionStart)
+                .withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                .withExpiresAt(expiresAt.isBefore(sessionEnd) ? expiresAt : sessionEnd)
+                .sign(signingKey.algorithm());
+    }
+
+    public synchronized void rotateSecret(String secretKey) {
+        SigningKey current = signingKey;
+        if (current.secret().equals(secretKey)) {
+            return;
+        }
+        long longestTtl = Math.max(properties.getAccessTokenTtl().toMillis(), properties.getRefreshTokenTtl().toMillis());
+        previousSigningKey = current.retire(System.currentTimeMillis() + longestTtl);
+        signingKey = SigningKey.of(secretKey);
+        keyVersion++;
+    }
+
+    /**
+     * Changes whenever the signing secret is rotated, so anything holding on to verified tokens
+     * knows to verify them again.
+     */
+    public int getKeyVersion() {
+        return keyVersion;
+    }
+
+    /**
+     * The reload runs every {@link JWTProperties#getReloadInterval()}, taken from the bound
+     * {@link Duration} so it accepts the same {@code 30s} style values as the other intervals.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (properties.getSecretFile() == null) {
+            return;
+        }
+        Duration interval = properties.getReloadInterval();
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::reloadSecret, interval, interval));
+    }
+
+    public void reloadSecret() {
+        Path secretFile = properties.getSecretFile();
+        if (secretFile == null) {
+            return;
+        }
+        try {
+            String secretKey = Files.readString(secretFile).strip();
+            if (!secretKey.isEmpty()) {
+                rotateSecret(secretKey);
+            }
+        } catch (IOException e) {
+            // Keep the current key; the file may be in the middle of being replaced.
+            log.warn("Could not reload the JWT secret from {}, keeping the current key: {}", secretFile, e.toString());
+        }
+    }
+
+    private static String readInitialSecret(Path secretFile) {
+        String secretKey;
+        try {
+            secretKey = Files.readString(secretFile).strip();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the JWT secret from " + secretFile, e);
+        }
+        if (secretKey.isEmpty()) {
+            throw new IllegalStateException("The JWT secret file " + secretFile + " is empty");
+        }
+        return secretKey;
+    }
+
+    private DecodedJWT verify(String token, boolean refresh) {
+        try {
+            return signingKey.verifier(refresh).verify(token);
+        } catch (SignatureVerificationException e) {
+            SigningKey previous = previousSigningKey;
+            if (previous == null || System.currentTimeMillis() > previous.retiredUntil()) {
+                throw e;
+            }
+            return previous.verifier(refresh).verify(token);
+        }
+    }
+
+    private record SigningKey(String secret, Algorithm algorithm, JWTVerifier accessVerifier,
+                              JWTVerifier refreshVerifier, long retiredUntil) {
+
+        static SigningKey of(String secret) {
+            Algorithm algorithm = Algorithm.HMAC256(secret);
+            return new SigningKey(secret, algorithm,
+                    JWT.require(algorithm).withIssuer(ISSUER).build(),
+                    JWT.require(algorithm).withIssuer(ISSUER).withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE).build(),
+                    Long.MAX_VALUE);
+        }
+
+        JWTVerifier verifier(boolean refresh) {
+            return refresh ? refreshVerifier : accessVerifier;
+        }
+
+        SigningKey retire(long until) {
+            return new SigningKey(secret, algorithm, accessVerifier, refreshVerifier, until);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.br.mobiauto.caching.CacheInvalidation;
+import com.br.mobiauto.caching.CacheInvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link Authentication} built from a verified token, keyed by the token's SHA-256, so a
+ * token reused across requests is verified once. An entry never outlives the token's {@code exp},
+ * and entries verified under a rotated secret are verified again.
+ *
+ * <p>{@link #revokeUser} rejects every access token of a user issued before the call, cached or
+ * not, and is replayed on the other instances through the {@link CacheInvalidationBus}. Tokens are
+ * stamped with whole seconds, so one issued in the same second as the revocation is kept.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private static final String CACHE_NAME = "jwt.authentications";
+
+    private final JWTProvider jwtProvider;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<String, VerifiedToken> cache;
+    // Subject -> epoch millis before which its access tokens are rejected; kept as long as such a token could still be valid
+    private final Cache<String, Long> revokedBefore;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public TokenAuthenticationCache(JWTProvider jwtProvider, JWTProperties properties, CacheInvalidationBus invalidationBus,
+                                    MeterRegistry meterRegistry) {
+        this.jwtProvider = jwtProvider;
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfter(new UntilTokenExpires(properties.getCacheTtl().toNanos()))
+                .recordStats()
+                .build();
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getAccessTokenTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns the authentication carried by the token, or null when it is invalid or expired.
+     */
+    public Authentication authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null && cached.keyVersion() == jwtProvider.getKeyVersion()
+                && cached.expiresAt() > System.currentTimeMillis()
+                && !isRevoked(cached.authentication().getName(), cached.issuedAt())) {
+            return cached.authentication();
+        }
+
+        int keyVersion = jwtProvider.getKeyVersion();
+        DecodedJWT decodedJWT = jwtProvider.validateToken(token);
+        if (decodedJWT == null || decodedJWT.getClaim("role").isMissing()
+                || isRevoked(decodedJWT.getSubject(), decodedJWT.getIssuedAt())) {
+            cache.invalidate(digest);
+            return null;
+        }
+
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + decodedJWT.getClaim("role").asString().toUpperCase());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                decodedJWT.getSubject(), null, Collections.singletonList(authority));
+        Date expiresAt = decodedJWT.getExpiresAt();
+        if (expiresAt != null) {
+            cache.put(digest, new VerifiedToken(authentication, expiresAt.getTime(), keyVersion, decodedJWT.getIssuedAt()));
+        }
+        return authentication;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * Called on logout, and when a user is deleted or changes role, so tokens already handed out
+     * stop working instead of living on until they expire.
+     */
+    public void revokeUser(String subject) {
+        long now = System.currentTimeMillis();
+        applyRevocation(subject, now);
+        invalidationBus.publish(new CacheInvalidation(CACHE_NAME, subject, nodeId, now));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (CACHE_NAME.equals(invalidation.cacheName()) && invalidation.key() != null && !nodeId.equals(invalidation.origin())) {
+            applyRevocation(invalidation.key(), invalidation.publishedAt());
+        }
+    }
+
+    private void applyRevocation(String subject, long revokedAt) {
+        // iat is in whole seconds; rounding down keeps tokens issued right after the revocation
+        revokedBefore.asMap().merge(subject, revokedAt / 1000 * 1000, Math::max);
+        cache.asMap().values().removeIf(verified -> subject.equals(verified.authentication().getName()));
+    }
+
+    private boolean isRevoked(String subject, Date issuedAt) {
+        Long before = subject != null ? revokedBefore.getIfPresent(subject) : null;
+        return before != null && (issuedAt == null || issuedAt.getTime() < before);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, long expiresAt, int keyVersion, Date issuedAt) {
+    }
+
+    private record UntilTokenExpires(long maximumTtlNanos) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.expiresAt() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiry, maximumTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.MissingClaimException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts rejected tokens per reason and logs at most one line per reason every
+ * {@link #LOG_INTERVAL_NANOS}, with the number of failures folded into it. A client stuck on an
+ * expired token, or a scanner, must not turn into a stream of stack traces on request threads.
+ */
+@Component
+public class TokenValidationFailures {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenValidationFailures.class);
+
+    static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public enum Reason {
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED,
+        INVALID_CLAIM,
+        OTHER;
+
+        static Reason of(JWTVerificationException e) {
+            if (e instanceof TokenExpiredException) {
+                return EXPIRED;
+            }
+            if (e instanceof SignatureVerificationException || e instanceof AlgorithmMismatchException) {
+                return BAD_SIGNATURE;
+            }
+            if (e instanceof JWTDecodeException) {
+                return MALFORMED;
+            }
+            if (e instanceof IncorrectClaimException || e instanceof MissingClaimException) {
+                return INVALID_CLAIM;
+            }
+            return OTHER;
+        }
+    }
+
+    private final Map<Reason, Counter> counters = new EnumMap<>(Reason.class);
+    private final Map<Reason, AtomicLong> nextLogAt = new EnumMap<>(Reason.class);
+    private final Map<Reason, AtomicLong> suppressed = new EnumMap<>(Reason.class);
+
+    public TokenValidationFailures(MeterRegistry meterRegistry) {
+        long now = System.nanoTime();
+        for (Reason reason : Reason.values()) {
+            counters.put(reason, Counter.builder("jwt.validation.failures")
+                    .description("Bearer tokens rejected by JWTProvider")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+            nextLogAt.put(reason, new AtomicLong(now));
+            suppressed.put(reason, new AtomicLong());
+        }
+    }
+
+    /**
+     * Records a rejected token and returns whether this call wrote the log line for its window.
+     */
+    public boolean record(JWTVerificationException e) {
+        Reason reason = Reason.of(e);
+        counters.get(reason).increment();
+
+        long now = System.nanoTime();
+        AtomicLong next = nextLogAt.get(reason);
+        long scheduled = next.get();
+        if (now - scheduled < 0 || !next.compareAndSet(scheduled, now + LOG_INTERVAL_NANOS)) {
+            suppressed.get(reason).incrementAndGet();
+            return false;
+        }
+        long folded = suppressed.get(reason).getAndSet(0);
+        // Only the reason: the library's messages can quote claim values and token segments
+        log.warn("Rejected JWT ({}) [{} more in the last {}s]",
+                reason, folded, TimeUnit.NANOSECONDS.toSeconds(LOG_INTERVAL_NANOS));
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package com.br.mobiauto.security.revocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Revocations local to this instance. Entries drop out once the token has expired.
+ */
+@Component
+@ConditionalOnProperty(name = "mobiauto.security.jwt.revocation-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final Cache<String, Instant> revoked = Caffeine.newBuilder()
+            .expireAfter(new UntilTokenExpires())
+            .build();
+
+    @Override
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            // Already unusable, nothing to remember
+            return true;
+        }
+        return revoked.asMap().putIfAbsent(tokenId, expiresAt) == null;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return revoked.getIfPresent(tokenId) != null;
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
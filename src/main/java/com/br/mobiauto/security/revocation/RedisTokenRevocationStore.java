@@ -0,0 +1,38 @@
+package com.br.mobiauto.security.revocation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Revocations shared by every instance. Each revoked id is a key that Redis expires together with
+ * the token, and {@code SET NX} makes exchanging a refresh token single-use across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mobiauto.security.jwt.revocation-store", havingValue = "redis")
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    private static final String KEY_PREFIX = "mobiauto:revoked-token:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            // Already unusable, nothing to remember
+            return true;
+        }
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + tokenId, "1", ttl));
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.br.mobiauto.security.revocation;
+
+import java.time.Instant;
+
+/**
+ * Remembers revoked token ids until the token would have expired on its own, so the store only
+ * ever holds tokens that are still live.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Returns true when this call revoked the token, false when it had already been revoked.
+     */
+    boolean revoke(String tokenId, Instant expiresAt);
+
+    boolean isRevoked(String tokenId);
+}
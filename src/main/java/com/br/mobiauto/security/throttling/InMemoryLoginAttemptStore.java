@@ -0,0 +1,72 @@
+package com.br.mobiauto.security.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Counters local to this instance. Updates go through the cache map's per-key {@code compute},
+ * which locks a single bin, so concurrent failures on different keys do not contend. The cache is
+ * bounded so an attacker spraying addresses cannot grow it without limit.
+ */
+@Component
+@ConditionalOnProperty(name = "mobiauto.security.login-throttle.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final long windowMillis;
+    private final Clock clock;
+    private final Cache<String, Window> windows;
+
+    @Autowired
+    public InMemoryLoginAttemptStore(LoginThrottleProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    InMemoryLoginAttemptStore(LoginThrottleProperties properties, Clock clock) {
+        this.windowMillis = properties.getWindow().toMillis();
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTrackedKeys())
+                .expireAfterWrite(properties.getWindow().multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public double reserve(String key) {
+        long now = clock.millis();
+        long bucket = now / windowMillis;
+        Window window = windows.asMap().compute(key, (k, previous) -> {
+            Window current = previous == null ? new Window(bucket, 0, 0) : previous.rollTo(bucket);
+            return new Window(current.bucket(), current.previous(), current.current() + 1);
+        });
+        return LoginAttemptStore.estimate(window.previous(), window.current(), now, windowMillis);
+    }
+
+    @Override
+    public void release(String key) {
+        long bucket = clock.millis() / windowMillis;
+        windows.asMap().computeIfPresent(key, (k, window) -> {
+            Window current = window.rollTo(bucket);
+            return current.current() > 0 ? new Window(current.bucket(), current.previous(), current.current() - 1) : current;
+        });
+    }
+
+    @Override
+    public void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    private record Window(long bucket, int previous, int current) {
+
+        Window rollTo(long now) {
+            if (now == bucket) {
+                return this;
+            }
+            return new Window(now, now == bucket + 1 ? current : 0, 0);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.br.mobiauto.security.throttling;
+
+/**
+ * Sliding-window count of failed logins per key (an account or a client address). The window is
+ * approximated with two fixed buckets, the previous one weighted by how much of it still overlaps
+ * the window, so each key costs two counters whatever the traffic.
+ */
+public interface LoginAttemptStore {
+
+    // Counts an attempt against the key and returns the estimate including it, in one atomic step
+    double reserve(String key);
+
+    // Takes back an attempt counted by reserve() that turned out not to be a failure
+    void release(String key);
+
+    void reset(String key);
+
+    static double estimate(long previous, long current, long now, long windowMillis) {
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        return previous * previousWeight + current;
+    }
+}
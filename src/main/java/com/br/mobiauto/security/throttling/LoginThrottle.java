@@ -0,0 +1,69 @@
+package com.br.mobiauto.security.throttling;
+
+import com.br.mobiauto.exceptions.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Per-account and per-address limits on failed logins. {@link #reserveAttempt} counts the attempt
+ * as a failure before the password is hashed and {@link #recordSuccess} takes it back, so a burst of
+ * concurrent guesses cannot all pass the check before the first failure is recorded. A throttled
+ * caller costs a counter update instead of a BCrypt compare.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private final LoginAttemptStore loginAttemptStore;
+    private final LoginThrottleProperties properties;
+
+    public void reserveAttempt(String email, String clientAddress) {
+        String accountKey = accountKey(email);
+        String addressKey = addressKey(clientAddress);
+        boolean accountExceeded = reserve(accountKey, properties.getMaxFailuresPerAccount());
+        boolean addressExceeded = reserve(addressKey, properties.getMaxFailuresPerIp());
+        if (accountExceeded || addressExceeded) {
+            // A refused attempt never reaches the password check, so it is not a failure either
+            release(accountKey, properties.getMaxFailuresPerAccount());
+            release(addressKey, properties.getMaxFailuresPerIp());
+            throw new TooManyRequestsException("Too many failed login attempts, try again later",
+                    properties.getWindow().toSeconds());
+        }
+    }
+
+    public void recordSuccess(String email, String clientAddress) {
+        loginAttemptStore.reset(accountKey(email));
+        release(addressKey(clientAddress), properties.getMaxFailuresPerIp());
+    }
+
+    // The attempt ended without an answer on the password, e.g. the hashing pool was full
+    public void releaseAttempt(String email, String clientAddress) {
+        release(accountKey(email), properties.getMaxFailuresPerAccount());
+        release(addressKey(clientAddress), properties.getMaxFailuresPerIp());
+    }
+
+    private boolean reserve(String key, int maxFailures) {
+        // The estimate includes this attempt, so the limit is reached when the ones before it hit maxFailures
+        return counted(key, maxFailures) && loginAttemptStore.reserve(key) - 1 >= maxFailures;
+    }
+
+    private void release(String key, int maxFailures) {
+        if (counted(key, maxFailures)) {
+            loginAttemptStore.release(key);
+        }
+    }
+
+    private static boolean counted(String key, int maxFailures) {
+        return key != null && maxFailures > 0;
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String addressKey(String clientAddress) {
+        return clientAddress == null ? null : "ip:" + clientAddress;
+    }
+}
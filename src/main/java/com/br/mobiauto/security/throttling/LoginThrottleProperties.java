@@ -0,0 +1,25 @@
+package com.br.mobiauto.security.throttling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "mobiauto.security.login-throttle")
+public class LoginThrottleProperties {
+
+    private Duration window = Duration.ofMinutes(15);
+
+    // Failed logins allowed per window; 0 disables that check
+    private int maxFailuresPerAccount = 5;
+
+    private int maxFailuresPerIp = 50;
+
+    // memory or redis; use redis when more than one instance serves /api/auth
+    private String store = "memory";
+
+    private long maximumTrackedKeys = 100_000;
+}
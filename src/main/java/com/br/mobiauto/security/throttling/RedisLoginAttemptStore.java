@@ -0,0 +1,68 @@
+package com.br.mobiauto.security.throttling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Counters shared by every instance: one Redis key per window bucket, expired after two windows.
+ * The key is hash-tagged so both buckets of a key land on the same cluster slot for MGET.
+ */
+@Component
+@ConditionalOnProperty(name = "mobiauto.security.login-throttle.store", havingValue = "redis")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final String KEY_PREFIX = "mobiauto:login-failures:";
+
+    // DECR that stops at zero, so a release landing in a fresh bucket does not go negative
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if tonumber(redis.call('GET', KEYS[1]) or '0') > 0 then return redis.call('DECR', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowMillis;
+    private final Duration bucketTtl;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate, LoginThrottleProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = properties.getWindow().toMillis();
+        this.bucketTtl = properties.getWindow().multipliedBy(2);
+    }
+
+    @Override
+    public double reserve(String key) {
+        long now = System.currentTimeMillis();
+        long bucket = now / windowMillis;
+        String bucketKey = bucketKey(key, bucket);
+        // INCR is the atomic step: concurrent attempts each see their own count
+        Long count = redisTemplate.opsForValue().increment(bucketKey);
+        if (count != null && count == 1) {
+            redisTemplate.expire(bucketKey, bucketTtl);
+        }
+        String previous = redisTemplate.opsForValue().get(bucketKey(key, bucket - 1));
+        return LoginAttemptStore.estimate(parse(previous), count != null ? count : 0, now, windowMillis);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(bucketKey(key, System.currentTimeMillis() / windowMillis)));
+    }
+
+    @Override
+    public void reset(String key) {
+        long bucket = System.currentTimeMillis() / windowMillis;
+        redisTemplate.delete(List.of(bucketKey(key, bucket - 1), bucketKey(key, bucket)));
+    }
+
+    private static String bucketKey(String key, long bucket) {
+        return KEY_PREFIX + "{" + key + "}:" + bucket;
+    }
+
+    private static long parse(String count) {
+        return count == null ? 0 : Long.parseLong(count);
+    }
+}
@@ -28,17 +28,19 @@ db.users.insertMany([
         "_id": user1_id,
         "email": "user1@example.com",
         "name": "User One",
-        "password": "password1",
+        // password1
+        "password": "{bcrypt}$2a$10$5IQyo64xkVvf.aafhTlKye9hXFDGuTXPJCXAFdfeZmgP9gJyiEE1K",
         "role": "ADMIN",
-        "dealership": dealership1_id
+        "dealershipId": dealership1_id
     },
     {
         "_id": user2_id,
         "email": "user2@example.com",
         "name": "User Two",
-        "password": "password2",
+        // password2
+        "password": "{bcrypt}$2a$10$nBRIQOiFkQNBuB5YjisHtOtXp2kF9OEbIbPd20y2HM4pIpXuzlRnO",
         "role": "USER",
-        "dealership": dealership2_id
+        "dealershipId": dealership2_id
     }
 ]);
 
@@ -47,14 +49,12 @@ db.dealerships.insertMany([
     {
         "_id": dealership1_id,
         "cnpj": "12345678901234",
-        "corporateName": "Dealership One",
-        "users": [user1_id]
+        "corporateName": "Dealership One"
     },
     {
         "_id": dealership2_id,
         "cnpj": "23456789012345",
-        "corporateName": "Dealership Two",
-        "users": [user2_id]
+        "corporateName": "Dealership Two"
     }
 ]);
 
@@ -73,7 +73,8 @@ db.opportunities.insertMany([
         "conclusionReason": null,
         "assignedDate": new Date(),
         "conclusionDate": null,
-        "user": user1_id
+        "userId": user1_id,
+        "userName": "User One"
     },
     {
         "_id": opportunity2_id,
@@ -88,6 +89,7 @@ db.opportunities.insertMany([
         "conclusionReason": null,
         "assignedDate": new Date(),
         "conclusionDate": null,
-        "user": user2_id
+        "userId": user2_id,
+        "userName": "User Two"
     }
 ]);
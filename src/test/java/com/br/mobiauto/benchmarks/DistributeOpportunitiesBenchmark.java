@@ -0,0 +1,135 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.distribution.DistributionExecutor;
+import com.br.mobiauto.modules.opportunities.distribution.DistributionProperties;
+import com.br.mobiauto.modules.opportunities.distribution.OpportunityDistributor;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepositoryCustomImpl;
+import com.br.mobiauto.modules.opportunities.services.impl.OpportunityService;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code distributeOpportunities} against an embedded mongod, so the numbers include the
+ * backlog read, the per-assistant load queries and the bulk writes. Every invocation starts from a
+ * fully unassigned backlog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DistributeOpportunitiesBenchmark {
+
+    private static final int DEALERSHIPS = 10;
+
+    @Param({"1000", "10000"})
+    private int backlog;
+
+    @Param({"5", "50"})
+    private int assistantsPerDealership;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private OpportunityService opportunityService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        mongoClient = MongoClients.create("mongodb://" + mongod.current().getServerAddress());
+        mongoTemplate = new MongoTemplate(mongoClient, "mobiauto-benchmark");
+        mongoTemplate.getDb().drop();
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        OpportunityRepository opportunityRepository = factory.getRepository(OpportunityRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new OpportunityRepositoryCustomImpl(mongoTemplate)));
+        UserRepository userRepository = factory.getRepository(UserRepository.class);
+        DealershipRepository dealershipRepository = factory.getRepository(DealershipRepository.class);
+
+        List<User> assistants = new ArrayList<>(DEALERSHIPS * assistantsPerDealership);
+        for (int dealership = 0; dealership < DEALERSHIPS; dealership++) {
+            for (int i = 0; i < assistantsPerDealership; i++) {
+                assistants.add(User.builder()
+                        .name("Assistant " + dealership + "-" + i)
+                        .email("assistant-" + dealership + "-" + i + "@example.com")
+                        .role(Role.ASSISTANT)
+                        .dealershipId("dealership-" + dealership)
+                        .build());
+            }
+        }
+        userRepository.saveAll(assistants);
+
+        List<Opportunity> opportunities = new ArrayList<>(backlog);
+        for (int i = 0; i < backlog; i++) {
+            opportunities.add(Opportunity.builder()
+                    .name("Opportunity " + i)
+                    .email("client-" + i + "@example.com")
+                    .status(OpportunityStatus.NEW)
+                    .dealershipId("dealership-" + (i % DEALERSHIPS))
+                    .build());
+        }
+        mongoTemplate.insertAll(opportunities);
+
+        DistributionProperties properties = new DistributionProperties();
+        AssistantLoadIndex assistantLoadIndex = new AssistantLoadIndex(
+                mongoTemplate, opportunityRepository, userRepository, properties);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpportunityDistributor distributor = new OpportunityDistributor(opportunityRepository, userRepository, mongoTemplate,
+                properties, assistantLoadIndex, new DistributionExecutor(properties, meterRegistry), meterRegistry);
+        opportunityService = new OpportunityService(opportunityRepository, userRepository, dealershipRepository,
+                distributor, assistantLoadIndex, null, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void unassign() {
+        mongoTemplate.updateMulti(new Query(),
+                new Update().unset("userId").unset("userName").unset("assignedDate"), Opportunity.class);
+        mongoTemplate.remove(new Query(), AssistantLoadCounter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public List<OpportunityResponseDTO> distributeOpportunities() {
+        return opportunityService.distributeOpportunities();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DistributeOpportunitiesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.configs.MongoPoolProperties;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A burst of {@code clients} concurrent blocking requests, served either by a Tomcat-sized
+ * platform pool (200 workers) or by one virtual thread per request. Each request holds one of
+ * {@code mobiauto.mongodb.pool.max-size} connections for a Mongo round trip and blocks on other
+ * I/O outside the pool, so platform threads run out first while virtual threads are bounded by
+ * the Mongo pool. The {@code virtual} runs need Java 21 and fail fast on older runtimes.
+ *
+ * <p>With {@code backend=simulated} the Mongo round trip is a sleep behind a semaphore of the pool
+ * size. With {@code backend=mongo} each request runs a find by id through a real driver pool,
+ * sized from {@link MongoPoolProperties}' defaults, against the server at the
+ * {@code benchmark.mongodb.uri} system property (default {@code mongodb://localhost:27017}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final int MONGO_POOL_SIZE = 100;
+
+    private static final long MONGO_ROUND_TRIP_MILLIS = 2;
+
+    private static final long OTHER_IO_MILLIS = 10;
+
+    private static final int DOCUMENTS = 1_000;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"1000", "5000", "10000"})
+    private int clients;
+
+    @Param({"simulated", "mongo"})
+    private String backend;
+
+    private ExecutorService executor;
+
+    private Semaphore mongoPool;
+
+    private MongoClient mongoClient;
+
+    private MongoCollection<Document> collection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mongoPool = new Semaphore(MONGO_POOL_SIZE);
+        if ("mongo".equals(backend)) {
+            connect();
+        }
+        if ("virtual".equals(mode)) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+            }
+            // Reflective so the benchmark still compiles for the project's Java 17 target
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        if (mongoClient != null) {
+            collection.drop();
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public int burst(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(clients);
+        AtomicInteger served = new AtomicInteger();
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    request(blackhole);
+                    served.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return served.get();
+    }
+
+    private void request(Blackhole blackhole) throws InterruptedException {
+        if (collection != null) {
+            blackhole.consume(collection.find(Filters.eq("_id", ThreadLocalRandom.current().nextInt(DOCUMENTS))).first());
+        } else {
+            mongoPool.acquire();
+            try {
+                Thread.sleep(MONGO_ROUND_TRIP_MILLIS);
+            } finally {
+                mongoPool.release();
+            }
+        }
+        // Mapping and serialisation
+        Blackhole.consumeCPU(1_000);
+        Thread.sleep(OTHER_IO_MILLIS);
+        blackhole.consume(Thread.currentThread());
+    }
+
+    private void connect() {
+        MongoPoolProperties pool = new MongoPoolProperties();
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017")))
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxConnecting(pool.getMaxConnecting())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS))
+                .build());
+        collection = mongoClient.getDatabase("mobiauto-benchmark").getCollection("execution_mode");
+        collection.drop();
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents.add(new Document("_id", i).append("status", "NEW").append("payload", "x".repeat(512)));
+        }
+        collection.insertMany(documents);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExecutionModeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.br.mobiauto.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.br.mobiauto.security.providers.JWTProperties;
+import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenValidationFailures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request.
+ * {@code rebuildVerifierPerCall} is what {@code validateToken} did before the verifier was cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JWTProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private JWTProvider jwtProvider;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtProvider = new JWTProvider(SECRET, new JWTProperties(), new TokenValidationFailures(new SimpleMeterRegistry()));
+        token = jwtProvider.generateToken("assistant@example.com", "ASSISTANT");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken("assistant@example.com", "ASSISTANT");
+    }
+
+    @Benchmark
+    public DecodedJWT rebuildVerifierPerCall() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm).build().verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JWTProviderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
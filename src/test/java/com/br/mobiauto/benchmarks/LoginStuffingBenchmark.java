@@ -0,0 +1,144 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.benchmarks.support.InMemoryRepository;
+import com.br.mobiauto.exceptions.TooManyRequestsException;
+import com.br.mobiauto.exceptions.UnauthorizedException;
+import com.br.mobiauto.modules.auth.dtos.AuthRequestDTO;
+import com.br.mobiauto.modules.auth.dtos.AuthResponseDTO;
+import com.br.mobiauto.modules.auth.services.AuthService;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.br.mobiauto.security.passwords.PasswordHashingProperties;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import com.br.mobiauto.security.providers.JWTProperties;
+import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenValidationFailures;
+import com.br.mobiauto.security.revocation.InMemoryTokenRevocationStore;
+import com.br.mobiauto.security.throttling.InMemoryLoginAttemptStore;
+import com.br.mobiauto.security.throttling.LoginThrottle;
+import com.br.mobiauto.security.throttling.LoginThrottleProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Credential stuffing against {@code AuthService.login}: seven threads replay leaked
+ * credentials from a handful of addresses while one thread logs in legitimately. Compare the
+ * {@code legitimate} latency with {@code throttle=false} (every attempt costs a BCrypt compare on
+ * the shared hashing pool) and {@code throttle=true} (attackers are turned away before hashing).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LoginStuffingBenchmark {
+
+    private static final String[] ATTACKER_ADDRESSES = {"203.0.113.10", "203.0.113.11", "203.0.113.12", "203.0.113.13"};
+
+    private static final int LEAKED_ACCOUNTS = 10_000;
+
+    private static final int KNOWN_ACCOUNTS = 10;
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"false", "true"})
+    private boolean throttle;
+
+    private PasswordHashingService passwordHashingService;
+
+    private AuthService authService;
+
+    private AuthRequestDTO legitimateRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        UserRepository userRepository = InMemoryRepository.of(UserRepository.class, User.class);
+        for (int i = 0; i < KNOWN_ACCOUNTS; i++) {
+            userRepository.save(User.builder()
+                    .email("victim-" + i + "@example.com")
+                    .password(passwordEncoder.encode("correct-horse-" + i))
+                    .role(Role.ASSISTANT)
+                    .build());
+        }
+        userRepository.save(User.builder()
+                .email("owner@example.com")
+                .password(passwordEncoder.encode("owner-password"))
+                .role(Role.OWNER)
+                .build());
+
+        LoginThrottleProperties throttleProperties = new LoginThrottleProperties();
+        if (!throttle) {
+            throttleProperties.setMaxFailuresPerAccount(0);
+            throttleProperties.setMaxFailuresPerIp(0);
+        }
+        LoginThrottle loginThrottle = new LoginThrottle(new InMemoryLoginAttemptStore(throttleProperties), throttleProperties);
+        // Start minutes into the attack rather than spending the warmup on its first failures.
+        for (String address : ATTACKER_ADDRESSES) {
+            for (int i = 0; i < throttleProperties.getMaxFailuresPerIp(); i++) {
+                loginThrottle.reserveAttempt("victim-" + i + "@example.com", address);
+            }
+        }
+
+        JWTProperties jwtProperties = new JWTProperties();
+        passwordHashingService = new PasswordHashingService(passwordEncoder, new PasswordHashingProperties(), new SimpleMeterRegistry());
+        authService = new AuthService(
+                null,
+                userRepository,
+                new JWTProvider("benchmark-secret", jwtProperties, new TokenValidationFailures(new SimpleMeterRegistry())),
+                new InMemoryTokenRevocationStore(),
+                jwtProperties,
+                passwordHashingService,
+                loginThrottle,
+                null);
+        legitimateRequest = new AuthRequestDTO("owner@example.com", "owner-password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @Group("stuffing")
+    @GroupThreads(7)
+    public Object attacker(Cursor cursor) {
+        // Each attempt is a request on the wire; without a round trip a rejected attacker spins on the CPU.
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        int attempt = cursor.next++;
+        AuthRequestDTO leaked = new AuthRequestDTO("victim-" + attempt % LEAKED_ACCOUNTS + "@example.com", "leaked-" + attempt);
+        try {
+            return authService.login(leaked, ATTACKER_ADDRESSES[attempt % ATTACKER_ADDRESSES.length]);
+        } catch (UnauthorizedException | TooManyRequestsException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @Group("stuffing")
+    @GroupThreads(1)
+    public AuthResponseDTO legitimate() {
+        return authService.login(legitimateRequest, "198.51.100.7");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginStuffingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
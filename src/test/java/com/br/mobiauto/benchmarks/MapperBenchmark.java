@@ -0,0 +1,148 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.modules.dealerships.dtos.DealershipRequestDTO;
+import com.br.mobiauto.modules.dealerships.dtos.DealershipResponseDTO;
+import com.br.mobiauto.modules.dealerships.mappers.DealershipMapper;
+import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.mappers.OpportunityMapper;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
+import com.br.mobiauto.modules.users.mappers.UserMapper;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the handwritten mappers with the ModelMapper calls they replaced, and tracks the user
+ * and dealership mappers on the same request path. Run through
+ * {@link #main} to get {@code gc.alloc.rate.norm}, the bytes allocated per mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private Opportunity opportunity;
+    private OpportunityRequestDTO request;
+    private User user;
+    private UserRequestDTO userRequest;
+    private Dealership dealership;
+    private DealershipRequestDTO dealershipRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        opportunity = Opportunity.builder()
+                .id("66a0c0ffee0000000000beef")
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .status(OpportunityStatus.IN_PROGRESS)
+                .dealershipId("dealership-id")
+                .userId("assistant-id")
+                .userName("Assistant")
+                .assignedDate(new Date())
+                .build();
+        request = OpportunityRequestDTO.builder()
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .dealershipId("dealership-id")
+                .build();
+        user = User.builder()
+                .id("assistant-id")
+                .name("Assistant")
+                .email("assistant@example.com")
+                .password("$2a$10$hash")
+                .role(Role.ASSISTANT)
+                .dealershipId("dealership-id")
+                .build();
+        userRequest = UserRequestDTO.builder()
+                .name("Assistant")
+                .email("assistant@example.com")
+                .password("password")
+                .role(Role.ASSISTANT)
+                .dealershipId("dealership-id")
+                .build();
+        dealership = Dealership.builder()
+                .id("dealership-id")
+                .cnpj("12345678000199")
+                .corporateName("Dealership")
+                .build();
+        dealershipRequest = DealershipRequestDTO.builder()
+                .cnpj("12345678000199")
+                .corporateName("Dealership")
+                .build();
+    }
+
+    @Benchmark
+    public OpportunityResponseDTO modelMapperToResponse() {
+        return modelMapper.map(opportunity, OpportunityResponseDTO.class);
+    }
+
+    @Benchmark
+    public OpportunityResponseDTO handwrittenToResponse() {
+        return OpportunityMapper.toOpportunityResponseDTO(opportunity);
+    }
+
+    @Benchmark
+    public Opportunity modelMapperToEntity() {
+        return modelMapper.map(request, Opportunity.class);
+    }
+
+    @Benchmark
+    public Opportunity handwrittenToEntity() {
+        return OpportunityMapper.toOpportunityEntity(request);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponse() {
+        return UserMapper.toUserResponseDTO(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return UserMapper.toUserEntity(userRequest);
+    }
+
+    @Benchmark
+    public DealershipResponseDTO dealershipToResponse() {
+        return DealershipMapper.toDealershipResponseDTO(dealership);
+    }
+
+    @Benchmark
+    public Dealership dealershipToEntity() {
+        return DealershipMapper.toDealershipEntity(dealershipRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
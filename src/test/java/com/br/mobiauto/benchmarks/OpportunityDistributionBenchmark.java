@@ -0,0 +1,88 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoad;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadBalancer;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per-lead re-sort (one load lookup per comparison, which used to be a
+ * {@code findAllByUserId} round-trip) with the heap used by {@code OpportunityDistributor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class OpportunityDistributionBenchmark {
+
+    @Param({"1000", "5000"})
+    private int backlog;
+
+    @Param({"20", "200"})
+    private int assistants;
+
+    private List<User> team;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        team = new ArrayList<>(assistants);
+        for (int i = 0; i < assistants; i++) {
+            team.add(User.builder().id("assistant-" + i).role(Role.ASSISTANT).build());
+        }
+    }
+
+    @Benchmark
+    public void legacyResort(Blackhole blackhole) {
+        Map<String, Integer> loads = initialLoads();
+        for (int lead = 0; lead < backlog; lead++) {
+            User leastBusy = team.stream()
+                    .sorted(Comparator.comparingInt(u -> loads.get(u.getId())))
+                    .findFirst()
+                    .orElseThrow();
+            loads.merge(leastBusy.getId(), 1, Integer::sum);
+            blackhole.consume(leastBusy);
+        }
+    }
+
+    @Benchmark
+    public void loadBalancer(Blackhole blackhole) {
+        Map<String, Integer> initialLoads = initialLoads();
+        List<AssistantLoad> loads = new ArrayList<>(team.size());
+        for (int i = 0; i < team.size(); i++) {
+            User assistant = team.get(i);
+            loads.add(new AssistantLoad(assistant, initialLoads.get(assistant.getId()), 0L, i));
+        }
+        AssistantLoadBalancer balancer = new AssistantLoadBalancer(loads);
+        for (int lead = 0; lead < backlog; lead++) {
+            blackhole.consume(balancer.next());
+        }
+    }
+
+    private Map<String, Integer> initialLoads() {
+        Map<String, Integer> loads = new HashMap<>(team.size() * 2);
+        for (int i = 0; i < team.size(); i++) {
+            loads.put(team.get(i).getId(), i % 7);
+        }
+        return loads;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OpportunityDistributionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.benchmarks.support.InMemoryRepository;
+import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.br.mobiauto.modules.users.services.impl.UserService;
+import com.br.mobiauto.security.passwords.PasswordHashingProperties;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UserService.saveUser} against in-memory repositories, so the number is dominated by the
+ * BCrypt hash at the default cost factor plus the hand-off to the hashing pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncodingBenchmark {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private PasswordHashingService passwordHashingService;
+
+    private UserService userService;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserRepository userRepository = InMemoryRepository.of(UserRepository.class, User.class);
+        DealershipRepository dealershipRepository = InMemoryRepository.of(DealershipRepository.class, Dealership.class);
+        dealershipRepository.save(Dealership.builder().id("dealership-id").cnpj("12345678000199").build());
+        passwordHashingService = new PasswordHashingService(passwordEncoder, new PasswordHashingProperties(), new SimpleMeterRegistry());
+        userService = new UserService(userRepository, dealershipRepository, passwordHashingService, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public UserResponseDTO saveUser() {
+        return userService.saveUser(UserRequestDTO.builder()
+                .name("Assistant")
+                .email("assistant-" + sequence++ + "@example.com")
+                .password("password")
+                .role(Role.ASSISTANT)
+                .dealershipId("dealership-id")
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.br.mobiauto.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.br.mobiauto.caching.InMemoryCacheInvalidationBus;
+import com.br.mobiauto.security.filters.SecurityFilter;
+import com.br.mobiauto.security.providers.JWTProperties;
+import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
+import com.br.mobiauto.security.providers.TokenValidationFailures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the JWT filter adds to every request: a valid token, a rejected one and an anonymous call.
+ * {@code badTokenFlood} hammers the 401 path from several threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    // 0 turns the verified-token cache off, i.e. every request verifies the signature
+    @Param({"0", "10000"})
+    private long cacheMaximumSize;
+
+    private SecurityFilter securityFilter;
+
+    private String validHeader;
+
+    // Expired, foreign-signed and malformed, as sent by a stuck client or a scanner
+    private String[] badHeaders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JWTProperties properties = new JWTProperties();
+        properties.setCacheMaximumSize(cacheMaximumSize);
+        JWTProvider jwtProvider = new JWTProvider(SECRET, properties, new TokenValidationFailures(new SimpleMeterRegistry()));
+        securityFilter = new SecurityFilter();
+        ReflectionTestUtils.setField(securityFilter, "tokenAuthenticationCache",
+                new TokenAuthenticationCache(jwtProvider, properties, new InMemoryCacheInvalidationBus(), new SimpleMeterRegistry()));
+        validHeader = "Bearer " + jwtProvider.generateToken("assistant@example.com", "ASSISTANT");
+        badHeaders = new String[]{
+                "Bearer " + JWT.create()
+                        .withIssuer(JWTProvider.ISSUER)
+                        .withClaim("role", "ASSISTANT")
+                        .withExpiresAt(new Date(System.currentTimeMillis() - 60000))
+                        .sign(Algorithm.HMAC256(SECRET)),
+                "Bearer " + JWT.create()
+                        .withIssuer(JWTProvider.ISSUER)
+                        .withClaim("role", "ADMIN")
+                        .sign(Algorithm.HMAC256("guessed-secret")),
+                "Bearer not-a-token"
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validToken() throws ServletException, IOException {
+        return filter(validHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidToken() throws ServletException, IOException {
+        return filter("Bearer not-a-token");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MockHttpServletResponse badTokenFlood(Cursor cursor) throws ServletException, IOException {
+        return filter(badHeaders[cursor.next++ % badHeaders.length]);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymous() throws ServletException, IOException {
+        return filter(null);
+    }
+
+    private MockHttpServletResponse filter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/opportunities");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
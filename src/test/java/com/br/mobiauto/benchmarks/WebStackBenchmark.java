@@ -0,0 +1,182 @@
+package com.br.mobiauto.benchmarks;
+
+import com.br.mobiauto.MobiautoApplication;
+import com.br.mobiauto.configs.ReactiveWebConfig;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.security.providers.JWTProvider;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code clients} concurrent requests against the servlet controllers or the WebFlux
+ * routes of the {@code reactive} profile. Both stacks run in the same application instance, on
+ * the same JVM and Mongo server, so they are compared at equal hardware; only one of them is
+ * loaded in a given trial.
+ *
+ * <p>{@code get} reads one opportunity by id, {@code create} inserts one, and {@code list} reads
+ * 500 opportunities: the servlet's largest page as a JSON array, and the same 500 streamed as
+ * newline-delimited JSON by the reactive route. The client is non-blocking and keeps one connection
+ * per in-flight request, so it does not bound either server. Needs a Mongo server at the
+ * {@code benchmark.mongodb.uri} system property (default
+ * {@code mongodb://localhost:27017/mobiauto-benchmark}); the database is dropped afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class WebStackBenchmark {
+
+    private static final int DOCUMENTS = 10_000;
+
+    private static final int LIST_SIZE = 500;
+
+    private static final String CREATE_BODY = "{\"name\": \"Benchmark\", \"email\": \"client@example.com\", \"phone\": \"123456789\", "
+            + "\"brand\": \"Brand\", \"model\": \"Model\", \"version\": \"Version\", \"yearModel\": 2022}";
+
+    @Param({"servlet", "reactive"})
+    private String api;
+
+    @Param({"get", "list", "create"})
+    private String operation;
+
+    @Param({"100", "1000"})
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+
+    private ConnectionProvider connectionProvider;
+
+    private WebClient webClient;
+
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MobiautoApplication.class)
+                .profiles("reactive")
+                // As arguments, so they take precedence over application.yml
+                .run("--spring.data.mongodb.uri=" + System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017/mobiauto-benchmark"),
+                        "--spring.docker.compose.enabled=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--mobiauto.reactive.port=0",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(MongoTemplate.class));
+
+        int port = "reactive".equals(api)
+                ? context.getBean(ReactiveWebConfig.ReactiveApiServer.class).getPort()
+                : ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JWTProvider.class).generateToken("benchmark@example.com", "ADMIN");
+        connectionProvider = ConnectionProvider.builder("benchmark")
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .baseUrl("http://localhost:" + port + "/api/opportunities")
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.dispose();
+        context.getBean(MongoTemplate.class).getDb().drop();
+        context.close();
+    }
+
+    /**
+     * Responses with an error status or cut short, such as the 503 of a request that waited longer than
+     * {@code mobiauto.mongodb.pool.max-wait-time} for a connection, reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failed;
+    }
+
+    @Benchmark
+    public long burst(Failures failures) {
+        List<Long> bytes = Flux.range(0, clients)
+                .flatMap(i -> request(), clients)
+                .collectList()
+                .block();
+        failures.failed += bytes.stream().filter(size -> size < 0).count();
+        return bytes.size();
+    }
+
+    // Bytes of the response body, or -1 for an error status or a response cut short
+    private Mono<Long> request() {
+        WebClient.RequestHeadersSpec<?> request = switch (operation) {
+            case "get" -> webClient.get().uri("/{id}", ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+            case "list" -> webClient.get().uri("?size={size}", LIST_SIZE);
+            case "create" -> webClient.post().contentType(MediaType.APPLICATION_JSON).bodyValue(CREATE_BODY);
+            default -> throw new IllegalArgumentException(operation);
+        };
+        return request.retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .map(buffer -> {
+                    long bytes = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .reduce(0L, Long::sum)
+                .onErrorReturn(-1L);
+    }
+
+    private void seed(MongoTemplate mongoTemplate) {
+        // Only the documents: the indexes created at startup stay
+        mongoTemplate.remove(new Query(), Opportunity.class);
+        ids = new ArrayList<>(DOCUMENTS);
+        List<Opportunity> opportunities = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String id = new ObjectId().toHexString();
+            ids.add(id);
+            opportunities.add(Opportunity.builder()
+                    .id(id)
+                    .status(OpportunityStatus.NEW)
+                    .name("Opportunity " + i)
+                    .email("client" + i + "@example.com")
+                    .phone("123456789")
+                    .brand("Brand")
+                    .model("Model")
+                    .version("Version")
+                    .yearModel(2022)
+                    .build());
+        }
+        mongoTemplate.insertAll(opportunities);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebStackBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
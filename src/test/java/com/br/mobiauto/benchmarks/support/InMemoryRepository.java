@@ -0,0 +1,106 @@
+package com.br.mobiauto.benchmarks.support;
+
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed stand-in for a Spring Data repository interface, so service benchmarks measure the
+ * service rather than a database. Supports save/saveAll, findById, existsById, findAll, count,
+ * deleteAll and single-property finders such as {@code findByEmail}.
+ */
+public final class InMemoryRepository {
+
+    private InMemoryRepository() {
+    }
+
+    public static <R> R of(Class<R> repositoryType, Class<?> entityType) {
+        Field idField = field(entityType, "id");
+        Map<String, Object> store = new ConcurrentHashMap<>();
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> invoke(store, entityType, idField, method, args));
+        return repositoryType.cast(proxy);
+    }
+
+    private static Object invoke(Map<String, Object> store, Class<?> entityType, Field idField, Method method,
+                                 Object[] args) throws ReflectiveOperationException {
+        String name = method.getName();
+        switch (name) {
+            case "save":
+                return save(store, idField, args[0]);
+            case "saveAll": {
+                List<Object> saved = new ArrayList<>();
+                for (Object entity : (Iterable<?>) args[0]) {
+                    saved.add(save(store, idField, entity));
+                }
+                return saved;
+            }
+            case "findById":
+                return Optional.ofNullable(store.get((String) args[0]));
+            case "existsById":
+                return store.containsKey((String) args[0]);
+            case "findAll":
+                return new ArrayList<>(store.values());
+            case "count":
+                return (long) store.size();
+            case "deleteAll":
+                store.clear();
+                return null;
+            case "hashCode":
+                return System.identityHashCode(store);
+            case "equals":
+                return false;
+            case "toString":
+                return "InMemoryRepository<" + entityType.getSimpleName() + ">";
+            default:
+                break;
+        }
+        if (name.startsWith("findBy") && args != null && args.length == 1) {
+            Field property = field(entityType, decapitalize(name.substring("findBy".length())));
+            List<Object> matches = new ArrayList<>();
+            for (Object entity : store.values()) {
+                if (Objects.equals(property.get(entity), args[0])) {
+                    matches.add(entity);
+                }
+            }
+            if (Optional.class.equals(method.getReturnType())) {
+                return matches.stream().findFirst();
+            }
+            return Collection.class.isAssignableFrom(method.getReturnType()) ? matches : matches.stream().findFirst().orElse(null);
+        }
+        throw new UnsupportedOperationException(name + " is not supported by the in-memory repository");
+    }
+
+    private static Object save(Map<String, Object> store, Field idField, Object entity) throws IllegalAccessException {
+        String id = (String) idField.get(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            idField.set(entity, id);
+        }
+        store.put(id, entity);
+        return entity;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no field " + name, e);
+        }
+    }
+
+    private static String decapitalize(String value) {
+        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.br.mobiauto.caching;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoLevelCacheManagerTest {
+
+    private SimpleMeterRegistry meterRegistryB;
+
+    private TwoLevelCacheManager nodeA;
+
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        CachingProperties properties = new CachingProperties();
+        InMemoryCacheInvalidationBus invalidationBus = new InMemoryCacheInvalidationBus();
+        meterRegistryB = new SimpleMeterRegistry();
+        nodeA = new TwoLevelCacheManager(properties, ConcurrentMapCache::new, false, invalidationBus, new SimpleMeterRegistry());
+        nodeB = new TwoLevelCacheManager(properties, ConcurrentMapCache::new, false, invalidationBus, meterRegistryB);
+    }
+
+    @Test
+    void testEvict_ReplayedOnOtherNodes() {
+        Cache usersOnA = nodeA.getCache(CacheNames.USERS);
+        Cache usersOnB = nodeB.getCache(CacheNames.USERS);
+        usersOnA.put("john@example.com", "ASSISTANT");
+        usersOnB.put("john@example.com", "ASSISTANT");
+        usersOnB.put("jane@example.com", "MANAGER");
+
+        usersOnA.evict("john@example.com");
+
+        assertNull(usersOnA.get("john@example.com"));
+        assertNull(usersOnB.get("john@example.com"));
+        assertEquals("MANAGER", usersOnB.get("jane@example.com").get());
+        assertEquals(1, meterRegistryB.get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void testClear_ReplayedOnOtherNodes() {
+        nodeB.getCache(CacheNames.DEALERSHIP_USERS).put("dealership-id", "users");
+
+        nodeA.getCache(CacheNames.DEALERSHIP_USERS).clear();
+
+        assertNull(nodeB.getCache(CacheNames.DEALERSHIP_USERS).get("dealership-id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEvict_SharedL2IsLeftToTheOrigin() {
+        InMemoryCacheInvalidationBus invalidationBus = new InMemoryCacheInvalidationBus();
+        ConcurrentMapCache replicaL2 = new ConcurrentMapCache(CacheNames.USERS);
+        TwoLevelCacheManager origin = new TwoLevelCacheManager(new CachingProperties(), ConcurrentMapCache::new, true,
+                invalidationBus, new SimpleMeterRegistry());
+        TwoLevelCacheManager replica = new TwoLevelCacheManager(new CachingProperties(), name -> replicaL2, true,
+                invalidationBus, new SimpleMeterRegistry());
+        replica.getCache(CacheNames.USERS).put("john@example.com", "ASSISTANT");
+
+        origin.getCache(CacheNames.USERS).evict("john@example.com");
+
+        TwoLevelCache usersOnReplica = (TwoLevelCache) replica.getCache(CacheNames.USERS);
+        assertNull(((com.github.benmanes.caffeine.cache.Cache<Object, Object>) usersOnReplica.getNativeCache()).getIfPresent("john@example.com"));
+        assertNotNull(replicaL2.get("john@example.com"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.br.mobiauto.caching;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoLevelCacheTest {
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+
+    private ConcurrentMapCache l2;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TwoLevelCache twoLevelCache;
+
+    @BeforeEach
+    void setUp() {
+        l1 = Caffeine.newBuilder().recordStats().build();
+        l2 = new ConcurrentMapCache("users", false);
+        meterRegistry = new SimpleMeterRegistry();
+        twoLevelCache = new TwoLevelCache("users", l1, l2, meterRegistry);
+    }
+
+    @Test
+    void testGet_LoadsOnceAndFillsBothLevels() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            return "john";
+        };
+
+        assertEquals("john", twoLevelCache.get("key", loader));
+        assertEquals("john", twoLevelCache.get("key", loader));
+
+        assertEquals(1, loads.get());
+        assertEquals("john", l1.getIfPresent("key"));
+        assertEquals("john", l2.get("key").get());
+    }
+
+    @Test
+    void testGet_L2HitRefillsL1() {
+        l2.put("key", "john");
+
+        Cache.ValueWrapper result = twoLevelCache.get("key");
+
+        assertEquals("john", result.get());
+        assertEquals("john", l1.getIfPresent("key"));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("level", "l2", "result", "hit").counter().count());
+    }
+
+    @Test
+    void testEvict_RemovesFromBothLevels() {
+        twoLevelCache.put("key", "john");
+
+        twoLevelCache.evict("key");
+
+        assertNull(l1.getIfPresent("key"));
+        assertNull(l2.get("key"));
+        assertNull(twoLevelCache.get("key"));
+    }
+
+    @Test
+    void testGet_FailingL2FallsBackToLoader() {
+        Cache brokenL2 = new ConcurrentMapCache("users") {
+            @Override
+            public ValueWrapper get(Object key) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public void put(Object key, Object value) {
+                throw new IllegalStateException("connection refused");
+            }
+        };
+        TwoLevelCache cache = new TwoLevelCache("users", Caffeine.newBuilder().build(), brokenL2, new SimpleMeterRegistry());
+
+        assertEquals("john", cache.get("key", () -> "john"));
+        assertEquals("john", cache.get("key").get());
+    }
+}
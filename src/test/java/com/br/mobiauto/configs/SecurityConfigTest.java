@@ -0,0 +1,61 @@
+package com.br.mobiauto.configs;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecurityConfigTest {
+
+    @Test
+    void testPrometheusScrape_OnManagementPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusScrape(8081);
+
+        assertTrue(matcher.matches(request(8081, "/actuator/prometheus")));
+    }
+
+    @Test
+    void testPrometheusScrape_OnApplicationPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusScrape(8081);
+
+        assertFalse(matcher.matches(request(8080, "/actuator/prometheus")));
+    }
+
+    @Test
+    void testPrometheusScrape_OtherEndpointOnManagementPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusScrape(8081);
+
+        assertFalse(matcher.matches(request(8081, "/actuator/metrics")));
+    }
+
+    @Test
+    void testPrometheusScrape_NoManagementPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusScrape(-1);
+
+        assertFalse(matcher.matches(request(-1, "/actuator/prometheus")));
+    }
+
+    @Test
+    void testExportAsyncDispatch_OnlyTheExportEndpoint() {
+        RequestMatcher matcher = SecurityConfig.exportAsyncDispatch();
+
+        assertTrue(matcher.matches(asyncRequest("/api/opportunities/export")));
+        assertFalse(matcher.matches(asyncRequest("/api/users")));
+        assertFalse(matcher.matches(request(8080, "/api/opportunities/export")));
+    }
+
+    private static MockHttpServletRequest asyncRequest(String path) {
+        MockHttpServletRequest request = request(8080, path);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(int localPort, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
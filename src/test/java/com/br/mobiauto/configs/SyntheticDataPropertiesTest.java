@@ -0,0 +1,67 @@
+package com.br.mobiauto.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticDataPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SyntheticDataPropertiesConfiguration.class);
+
+    @Test
+    void testBind_Defaults() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertEquals(20, context.getBean(SyntheticDataProperties.class).getUsersPerDealership());
+        });
+    }
+
+    @Test
+    void testBind_NoDealershipsFailsFast() {
+        contextRunner
+                .withPropertyValues("mobiauto.seed.synthetic.dealerships=0")
+                .run(context -> assertStartupFailure(context.getStartupFailure(), "mobiauto.seed.synthetic.dealerships"));
+    }
+
+    @Test
+    void testBind_TooFewUsersPerDealershipFailsFast() {
+        contextRunner
+                .withPropertyValues("mobiauto.seed.synthetic.users-per-dealership=2")
+                .run(context -> assertStartupFailure(context.getStartupFailure(),
+                        "must be at least 3: one owner, one manager and one assistant"));
+    }
+
+    @Test
+    void testBind_UnassignedRatioOutOfRangeFailsFast() {
+        contextRunner
+                .withPropertyValues("mobiauto.seed.synthetic.unassigned-ratio=1.5")
+                .run(context -> assertStartupFailure(context.getStartupFailure(), "mobiauto.seed.synthetic.unassigned-ratio"));
+    }
+
+    @Test
+    void testBind_UserCountOverflowFailsFast() {
+        contextRunner
+                .withPropertyValues("mobiauto.seed.synthetic.dealerships=100000",
+                        "mobiauto.seed.synthetic.users-per-dealership=100000")
+                .run(context -> assertStartupFailure(context.getStartupFailure(),
+                        "dealerships * users-per-dealership must not exceed 2147483647"));
+    }
+
+    private static void assertStartupFailure(Throwable failure, String expected) {
+        assertNotNull(failure);
+        StringBuilder messages = new StringBuilder();
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            messages.append(cause.getMessage()).append('\n');
+        }
+        assertTrue(messages.toString().contains(expected), messages.toString());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(SyntheticDataProperties.class)
+    static class SyntheticDataPropertiesConfiguration {
+    }
+}
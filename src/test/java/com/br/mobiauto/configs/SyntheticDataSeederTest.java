@@ -0,0 +1,147 @@
+package com.br.mobiauto.configs;
+
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.InsertManyResult;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SyntheticDataSeederTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Spy
+    private SyntheticDataProperties properties = new SyntheticDataProperties();
+
+    @InjectMocks
+    private SyntheticDataSeeder syntheticDataSeeder;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDealerships(2);
+        properties.setUsersPerDealership(5);
+        properties.setOpportunities(25);
+        properties.setBatchSize(10);
+    }
+
+    @Test
+    void testOpportunity_AssignsWithinDealershipAndLeavesBacklog() {
+        Map<String, User> users = IntStream.range(0, 10)
+                .mapToObj(i -> syntheticDataSeeder.user(i, 5, "hash"))
+                .collect(Collectors.toMap(User::getId, user -> user));
+        List<Opportunity> opportunities = IntStream.range(0, 100)
+                .mapToObj(i -> syntheticDataSeeder.opportunity(i, 5, new Date()))
+                .collect(Collectors.toList());
+
+        assertEquals(20, opportunities.stream().filter(opportunity -> opportunity.getUserId() == null).count());
+        for (Opportunity opportunity : opportunities) {
+            if (opportunity.getUserId() != null) {
+                User assistant = users.get(opportunity.getUserId());
+                assertEquals(Role.ASSISTANT, assistant.getRole());
+                assertEquals(opportunity.getDealershipId(), assistant.getDealershipId());
+            }
+        }
+    }
+
+    @Test
+    void testId_IsStablePerTypeAndIndex() {
+        String dealershipId = syntheticDataSeeder.dealership(7).getId();
+
+        assertTrue(ObjectId.isValid(dealershipId));
+        assertEquals(dealershipId, syntheticDataSeeder.dealership(7).getId());
+        assertNotEquals(dealershipId, syntheticDataSeeder.user(7, 5, "hash").getId());
+        assertNotEquals(dealershipId, syntheticDataSeeder.dealership(8).getId());
+    }
+
+    @Test
+    void testRun_InsertsUnorderedBatchesAndEncodesPasswordOnce() {
+        mockCollection();
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(invocation -> {
+            List<Document> documents = invocation.getArgument(0);
+            Map<Integer, BsonValue> insertedIds = new HashMap<>();
+            for (int i = 0; i < documents.size(); i++) {
+                insertedIds.put(i, new BsonInt32(i));
+            }
+            return InsertManyResult.acknowledged(insertedIds);
+        });
+
+        syntheticDataSeeder.run(null);
+
+        // 1 dealership batch, 1 user batch, 3 opportunity batches
+        verify(collection, times(5)).insertMany(anyList(), argThat(options -> !options.isOrdered()));
+        verify(passwordEncoder, times(1)).encode("synthetic");
+    }
+
+    @Test
+    void testRun_SkipsDocumentsLeftByEarlierRuns() {
+        mockCollection();
+        MongoBulkWriteException duplicates = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of());
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenThrow(duplicates);
+
+        assertDoesNotThrow(() -> syntheticDataSeeder.run(null));
+    }
+
+    @Test
+    void testRun_PropagatesOtherWriteErrors() {
+        mockCollection();
+        MongoBulkWriteException invalid = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of());
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenThrow(invalid);
+
+        assertThrows(MongoBulkWriteException.class, () -> syntheticDataSeeder.run(null));
+    }
+
+    private void mockCollection() {
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+    }
+}
@@ -0,0 +1,95 @@
+package com.br.mobiauto.exceptions.handlers;
+
+import com.br.mobiauto.exceptions.BadRequestException;
+import com.br.mobiauto.exceptions.dtos.ErrorResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityCursor;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void testHandleBadRequestException_MalformedCursor() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> OpportunityCursor.decode("bm90LWEtZGF0ZQ", OpportunityPageRequestDTO.SortField.ASSIGNED_DATE));
+
+        ResponseEntity<ErrorResponseDTO> response = handler.handleBadRequestException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().getStatus());
+        assertEquals("Invalid cursor", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleBadRequestException_InvalidBase64Cursor() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> OpportunityCursor.decode("not base64!", OpportunityPageRequestDTO.SortField.ID));
+
+        ResponseEntity<ErrorResponseDTO> response = handler.handleBadRequestException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleBadRequestException_IdCursorThatIsNotAnObjectId() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("not-an-object-id".getBytes(StandardCharsets.UTF_8));
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> OpportunityCursor.decode(cursor, OpportunityPageRequestDTO.SortField.ID));
+
+        ResponseEntity<ErrorResponseDTO> response = handler.handleBadRequestException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody().getMessage());
+    }
+
+    @Test
+    void testDecode_RoundTripsValidCursors() {
+        String id = new ObjectId().toHexString();
+        OpportunityCursor byId = OpportunityCursor.decode(new OpportunityCursor(null, id).encode(), OpportunityPageRequestDTO.SortField.ID);
+        OpportunityCursor byDate = OpportunityCursor.decode(new OpportunityCursor(new Date(1_000L), id).encode(),
+                OpportunityPageRequestDTO.SortField.ASSIGNED_DATE);
+
+        assertEquals(id, byId.getId());
+        assertEquals(id, byDate.getId());
+        assertEquals(new Date(1_000L), byDate.getAssignedDate());
+        assertThrows(BadRequestException.class, () -> OpportunityCursor.decode(
+                new OpportunityCursor(new Date(1_000L), "42").encode(), OpportunityPageRequestDTO.SortField.ASSIGNED_DATE));
+    }
+
+    @Test
+    void testHandleDataAccessResourceFailureException_TimeoutIsServiceUnavailable() {
+        DataAccessResourceFailureException ex = new DataAccessResourceFailureException("Timed out",
+                new MongoTimeoutException("Timed out after 2000 ms while waiting for a connection to server mongodb:27017."));
+
+        ResponseEntity<ErrorResponseDTO> response = handler.handleDataAccessResourceFailureException(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Database is busy, try again later", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleDataAccessResourceFailureException_SocketErrorIsNotRetried() {
+        DataAccessResourceFailureException ex = new DataAccessResourceFailureException("Prematurely reached end of stream",
+                new MongoSocketReadException("Prematurely reached end of stream", new ServerAddress("mongodb")));
+
+        ResponseEntity<ErrorResponseDTO> response = handler.handleDataAccessResourceFailureException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
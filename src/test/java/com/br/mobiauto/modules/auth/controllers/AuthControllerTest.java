@@ -142,7 +142,7 @@ public class AuthControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void loginUser_Success() throws Exception {
-        Mockito.when(authService.login(Mockito.any(AuthRequestDTO.class))).thenReturn(authResponseDTO);
+        Mockito.when(authService.login(Mockito.any(AuthRequestDTO.class), Mockito.anyString())).thenReturn(authResponseDTO);
 
         mvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -168,7 +168,7 @@ public class AuthControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void loginUser_Error() throws Exception {
-        Mockito.when(authService.login(Mockito.any(AuthRequestDTO.class))).thenThrow(new RuntimeException("Invalid credentials"));
+        Mockito.when(authService.login(Mockito.any(AuthRequestDTO.class), Mockito.anyString())).thenThrow(new RuntimeException("Invalid credentials"));
 
         mvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
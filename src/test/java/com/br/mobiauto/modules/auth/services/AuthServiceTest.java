@@ -1,23 +1,39 @@
 package com.br.mobiauto.modules.auth.services;
 
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.exceptions.ServiceUnavailableException;
+import com.br.mobiauto.exceptions.TooManyRequestsException;
+import com.br.mobiauto.exceptions.UnauthorizedException;
 import com.br.mobiauto.modules.auth.dtos.AuthRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.AuthResponseDTO;
+import com.br.mobiauto.modules.auth.dtos.RefreshTokenRequestDTO;
 import com.br.mobiauto.modules.auth.dtos.RegisterRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
 import com.br.mobiauto.modules.users.models.User;
 import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
 import com.br.mobiauto.modules.users.services.IUserService;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import com.br.mobiauto.security.passwords.PasswordHashingService.PasswordCheck;
+import com.br.mobiauto.security.providers.JWTProperties;
 import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
+import com.br.mobiauto.security.revocation.TokenRevocationStore;
+import com.br.mobiauto.security.throttling.LoginThrottle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,10 +46,25 @@ public class AuthServiceTest {
     private IUserService userService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private JWTProvider jwtProvider;
 
     @Mock
-    private JWTProvider jwtProvider;
+    private TokenRevocationStore tokenRevocationStore;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Spy
+    private JWTProperties jwtProperties = new JWTProperties();
 
     @InjectMocks
     private AuthService authService;
@@ -41,6 +72,7 @@ public class AuthServiceTest {
     private RegisterRequestDTO registerRequestDTO;
     private AuthRequestDTO authRequestDTO;
     private UserResponseDTO userResponseDTO;
+    private User user;
 
     @BeforeEach
     void setUp() {
@@ -63,11 +95,18 @@ public class AuthServiceTest {
                 .email("john.doe@example.com")
                 .role(Role.MANAGER)
                 .build();
+
+        user = User.builder()
+                .id("1")
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .password("{bcrypt}hash")
+                .role(Role.MANAGER)
+                .build();
     }
 
     @Test
     void testRegister_Success() {
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
         when(userService.saveUser(any(UserRequestDTO.class))).thenReturn(userResponseDTO);
         UserResponseDTO result = authService.register(registerRequestDTO);
 
@@ -75,34 +114,85 @@ public class AuthServiceTest {
         assertEquals("John Doe", result.getName());
         assertEquals("john.doe@example.com", result.getEmail());
 
-        verify(passwordEncoder, times(1)).encode("password123");
-        verify(userService, times(1)).saveUser(any(UserRequestDTO.class));
+        assertEquals("1", result.getId());
+        verify(userService, times(1)).saveUser(argThat(request -> "password123".equals(request.getPassword())));
     }
 
     @Test
     void testLogin_Success() {
-        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(userResponseDTO);
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "{bcrypt}hash")).thenReturn(new PasswordCheck(true, null));
         when(jwtProvider.generateToken("john.doe@example.com", "MANAGER")).thenReturn("jwtToken");
+        when(jwtProvider.generateRefreshToken(eq("john.doe@example.com"), any(Instant.class))).thenReturn("refreshToken");
 
-        AuthResponseDTO result = authService.login(authRequestDTO);
+        AuthResponseDTO result = authService.login(authRequestDTO, "10.0.0.1");
 
         assertNotNull(result);
         assertEquals("jwtToken", result.getToken());
+        assertEquals("refreshToken", result.getRefreshToken());
+        assertEquals(600, result.getExpiresIn());
+
+        verify(loginThrottle, times(1)).reserveAttempt("john.doe@example.com", "10.0.0.1");
+        verify(loginThrottle, times(1)).recordSuccess("john.doe@example.com", "10.0.0.1");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLogin_PersistsUpgradedHash() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "{bcrypt}hash")).thenReturn(new PasswordCheck(true, "{bcrypt}upgraded"));
 
-        verify(userService, times(1)).getUserByEmail("john.doe@example.com");
-        verify(jwtProvider, times(1)).generateToken("john.doe@example.com", "MANAGER");
+        authService.login(authRequestDTO, "10.0.0.1");
+
+        assertEquals("{bcrypt}upgraded", user.getPassword());
+        verify(userRepository, times(1)).save(user);
     }
 
     @Test
     void testLogin_InvalidCredentials() {
-        when(userService.getUserByEmail("john.doe@example.com")).thenThrow(new NotFoundException("Invalid email or password"));
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "{bcrypt}hash")).thenReturn(new PasswordCheck(false, null));
 
-        assertThrows(NotFoundException.class, () -> authService.login(authRequestDTO));
+        assertThrows(UnauthorizedException.class, () -> authService.login(authRequestDTO, "10.0.0.1"));
 
-        verify(userService, times(1)).getUserByEmail("john.doe@example.com");
+        verify(loginThrottle, times(1)).reserveAttempt("john.doe@example.com", "10.0.0.1");
+        verify(loginThrottle, never()).recordSuccess(anyString(), anyString());
+        verify(loginThrottle, never()).releaseAttempt(anyString(), anyString());
         verify(jwtProvider, never()).generateToken(anyString(), anyString());
     }
 
+    @Test
+    void testLogin_UnknownEmailStillComparesPassword() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.empty());
+        when(passwordHashingService.verify("password123", null)).thenReturn(new PasswordCheck(false, null));
+
+        assertThrows(UnauthorizedException.class, () -> authService.login(authRequestDTO, "10.0.0.1"));
+
+        verify(passwordHashingService, times(1)).verify("password123", null);
+        verify(loginThrottle, never()).recordSuccess(anyString(), anyString());
+    }
+
+    @Test
+    void testLogin_ReleasesAttemptWhenVerificationFails() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "{bcrypt}hash"))
+                .thenThrow(new ServiceUnavailableException("Login is busy, try again later"));
+
+        assertThrows(ServiceUnavailableException.class, () -> authService.login(authRequestDTO, "10.0.0.1"));
+
+        verify(loginThrottle, times(1)).releaseAttempt("john.doe@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void testLogin_ThrottledBeforeHashing() {
+        doThrow(new TooManyRequestsException("Too many failed login attempts, try again later", 900))
+                .when(loginThrottle).reserveAttempt("john.doe@example.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(authRequestDTO, "10.0.0.1"));
+
+        verifyNoInteractions(passwordHashingService, userRepository);
+    }
+
     @Test
     void testValidateToken() {
         DecodedJWT decodedJWT = mock(DecodedJWT.class);
@@ -114,4 +204,101 @@ public class AuthServiceTest {
 
         verify(jwtProvider, times(1)).validateToken("validToken");
     }
+
+    @Test
+    void testRefresh_IssuesNewPairAndRevokesPresentedToken() {
+        Instant sessionStart = Instant.now().minusSeconds(3600);
+        DecodedJWT refreshToken = refreshToken("refresh-id", sessionStart);
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+        when(tokenRevocationStore.revoke(eq("refresh-id"), any(Instant.class))).thenReturn(true);
+        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(userResponseDTO);
+        when(jwtProvider.generateToken("john.doe@example.com", "MANAGER")).thenReturn("newJwtToken");
+        when(jwtProvider.generateRefreshToken("john.doe@example.com", sessionStart)).thenReturn("newRefreshToken");
+
+        AuthResponseDTO result = authService.refresh(new RefreshTokenRequestDTO("refreshToken"));
+
+        assertEquals("newJwtToken", result.getToken());
+        assertEquals("newRefreshToken", result.getRefreshToken());
+    }
+
+    @Test
+    void testRefresh_TakesRoleFromStoredUser() {
+        DecodedJWT refreshToken = refreshToken("refresh-id", Instant.now());
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+        when(tokenRevocationStore.revoke(eq("refresh-id"), any(Instant.class))).thenReturn(true);
+        userResponseDTO.setRole(Role.ASSISTANT);
+        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(userResponseDTO);
+
+        authService.refresh(new RefreshTokenRequestDTO("refreshToken"));
+
+        verify(jwtProvider, times(1)).generateToken("john.doe@example.com", "ASSISTANT");
+    }
+
+    @Test
+    void testRefresh_RejectsDeletedUser() {
+        DecodedJWT refreshToken = refreshToken("refresh-id", Instant.now());
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+        when(tokenRevocationStore.revoke(eq("refresh-id"), any(Instant.class))).thenReturn(true);
+        when(userService.getUserByEmail("john.doe@example.com")).thenThrow(new NotFoundException("User not found"));
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequestDTO("refreshToken")));
+
+        verify(jwtProvider, never()).generateToken(anyString(), anyString());
+    }
+
+    @Test
+    void testRefresh_RejectsSessionPastMaxLifetime() {
+        Instant sessionStart = Instant.now().minus(jwtProperties.getMaxSessionLifetime()).minus(Duration.ofMinutes(1));
+        DecodedJWT refreshToken = refreshToken("refresh-id", sessionStart);
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequestDTO("refreshToken")));
+
+        verifyNoInteractions(tokenRevocationStore, userService);
+    }
+
+    @Test
+    void testRefresh_RejectsAlreadyUsedToken() {
+        DecodedJWT refreshToken = refreshToken("refresh-id", Instant.now());
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+        when(tokenRevocationStore.revoke(eq("refresh-id"), any(Instant.class))).thenReturn(false);
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequestDTO("refreshToken")));
+
+        verify(jwtProvider, never()).generateToken(anyString(), anyString());
+    }
+
+    @Test
+    void testRefresh_RejectsInvalidToken() {
+        when(jwtProvider.validateRefreshToken("invalidToken")).thenReturn(null);
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequestDTO("invalidToken")));
+
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    @Test
+    void testLogout_RevokesRefreshToken() {
+        DecodedJWT refreshToken = mock(DecodedJWT.class);
+        when(refreshToken.getId()).thenReturn("refresh-id");
+        when(refreshToken.getSubject()).thenReturn("john.doe@example.com");
+        when(refreshToken.getExpiresAtAsInstant()).thenReturn(Instant.now().plusSeconds(60));
+        when(jwtProvider.validateRefreshToken("refreshToken")).thenReturn(refreshToken);
+
+        authService.logout(new RefreshTokenRequestDTO("refreshToken"));
+
+        verify(tokenRevocationStore, times(1)).revoke(eq("refresh-id"), any(Instant.class));
+        verify(tokenAuthenticationCache, times(1)).revokeUser("john.doe@example.com");
+    }
+
+    private DecodedJWT refreshToken(String id, Instant sessionStart) {
+        DecodedJWT refreshToken = mock(DecodedJWT.class);
+        Claim authTime = mock(Claim.class);
+        lenient().when(refreshToken.getId()).thenReturn(id);
+        lenient().when(refreshToken.getExpiresAtAsInstant()).thenReturn(Instant.now().plusSeconds(60));
+        lenient().when(refreshToken.getSubject()).thenReturn("john.doe@example.com");
+        when(refreshToken.getClaim(JWTProvider.AUTH_TIME_CLAIM)).thenReturn(authTime);
+        when(authTime.asInstant()).thenReturn(sessionStart);
+        return refreshToken;
+    }
 }
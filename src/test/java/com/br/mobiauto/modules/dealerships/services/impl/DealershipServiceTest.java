@@ -6,18 +6,26 @@ import com.br.mobiauto.modules.dealerships.dtos.DealershipRequestDTO;
 import com.br.mobiauto.modules.dealerships.dtos.DealershipResponseDTO;
 import com.br.mobiauto.modules.dealerships.models.Dealership;
 import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.repositories.DealershipUserCount;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +34,9 @@ public class DealershipServiceTest {
     @Mock
     private DealershipRepository dealershipRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @InjectMocks
     private DealershipService dealershipService;
 
@@ -70,12 +81,14 @@ public class DealershipServiceTest {
     @Test
     void testGetDealershipById_Success() {
         when(dealershipRepository.findById("1")).thenReturn(Optional.of(dealership));
+        when(userRepository.countByDealershipId("1")).thenReturn(3L);
 
         DealershipResponseDTO result = dealershipService.getDealershipById("1");
 
         assertNotNull(result);
         assertEquals("12345678000190", result.getCnpj());
         assertEquals("Dealership Name", result.getCorporateName());
+        assertEquals(3L, result.getUserCount());
     }
 
     @Test
@@ -94,6 +107,7 @@ public class DealershipServiceTest {
                 .build();
 
         when(dealershipRepository.findAll()).thenReturn(List.of(dealership, anotherDealership));
+        when(userRepository.countByDealershipIdIn(List.of("1", "2"))).thenReturn(List.of(new DealershipUserCount("1", 2L)));
 
         List<DealershipResponseDTO> result = dealershipService.getAllDealerships();
 
@@ -101,6 +115,30 @@ public class DealershipServiceTest {
         assertEquals(2, result.size());
         assertEquals("12345678000190", result.get(0).getCnpj());
         assertEquals("09876543210987", result.get(1).getCnpj());
+        assertEquals(2L, result.get(0).getUserCount());
+        assertEquals(0L, result.get(1).getUserCount());
+        verify(userRepository, never()).findAllByDealershipId(anyString());
+    }
+
+    @Test
+    void testGetDealershipUsers_Success() {
+        User user = User.builder().id("user-id").name("John Doe").dealershipId("1").build();
+        when(dealershipRepository.existsById("1")).thenReturn(true);
+        when(userRepository.findAllByDealershipId(eq("1"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(user)));
+
+        List<UserResponseDTO> result = dealershipService.getDealershipUsers("1", 0, 1_000);
+
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+        verify(userRepository).findAllByDealershipId(eq("1"), argThat((Pageable pageable) -> pageable.getPageSize() == 100));
+    }
+
+    @Test
+    void testGetDealershipUsers_NotFound() {
+        when(dealershipRepository.existsById("1")).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> dealershipService.getDealershipUsers("1", 0, 20));
+        verify(userRepository, never()).findAllByDealershipId(anyString(), any(Pageable.class));
     }
 
     @Test
@@ -1,7 +1,9 @@
 package com.br.mobiauto.modules.opportunities.controllers;
 
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExportFormat;
 import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
 import com.br.mobiauto.modules.opportunities.services.IOpportunityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,11 +27,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -158,14 +164,37 @@ class OpportunityControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void getAllOpportunities() throws Exception {
-        Mockito.when(opportunityService.getAllOpportunities()).thenReturn(List.of(opportunityResponseDTO));
+        Mockito.when(opportunityService.getAllOpportunities(any(), any()))
+                .thenReturn(new OpportunityPageDTO(List.of(opportunityResponseDTO), "next-cursor"));
 
-        mockMvc.perform(get("/api/opportunities"))
+        mockMvc.perform(get("/api/opportunities").param("status", "NEW").param("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].name", is("Opportunity One")));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportOpportunities() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(opportunityService).exportOpportunities(any(), any(), Mockito.eq(OpportunityExportFormat.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/api/opportunities/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The JWT filter does not run on the async dispatch, so it reaches authorization unauthenticated
+        TestSecurityContextHolder.clearContext();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getOpportunityById() throws Exception {
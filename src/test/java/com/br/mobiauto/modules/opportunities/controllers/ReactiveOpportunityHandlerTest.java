@@ -0,0 +1,222 @@
+package com.br.mobiauto.modules.opportunities.controllers;
+
+import com.br.mobiauto.caching.InMemoryCacheInvalidationBus;
+import com.br.mobiauto.configs.ReactiveWebConfig;
+import com.br.mobiauto.exceptions.BadRequestException;
+import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.exceptions.handlers.GlobalExceptionHandler;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.services.IReactiveOpportunityService;
+import com.br.mobiauto.security.filters.ReactiveSecurityFilter;
+import com.br.mobiauto.security.providers.JWTProperties;
+import com.br.mobiauto.security.providers.JWTProvider;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
+import com.br.mobiauto.security.providers.TokenValidationFailures;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveOpportunityHandlerTest {
+
+    @Mock
+    private IReactiveOpportunityService opportunityService;
+
+    private JWTProvider jwtProvider;
+
+    private WebTestClient webTestClient;
+
+    private OpportunityResponseDTO opportunity;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JWTProperties properties = new JWTProperties();
+        jwtProvider = new JWTProvider("secret", properties, new TokenValidationFailures(meterRegistry));
+        TokenAuthenticationCache tokenAuthenticationCache =
+                new TokenAuthenticationCache(jwtProvider, properties, new InMemoryCacheInvalidationBus(), meterRegistry);
+        ReactiveOpportunityHandler handler = new ReactiveOpportunityHandler(opportunityService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new GlobalExceptionHandler());
+        webTestClient = WebTestClient.bindToRouterFunction(new ReactiveWebConfig()
+                        .reactiveOpportunityRoutes(handler, new ReactiveSecurityFilter(tokenAuthenticationCache)))
+                .build();
+
+        opportunity = OpportunityResponseDTO.builder()
+                .id("665f1c2e9b1d4a3f8c0e0001")
+                .name("Opportunity 1")
+                .status(OpportunityStatus.NEW)
+                .build();
+    }
+
+    @Test
+    void testGetAllOpportunities_StreamsNdjson() {
+        when(opportunityService.streamOpportunities(
+                argThat(filter -> filter.getStatus() == OpportunityStatus.NEW && "Brand".equals(filter.getBrand())),
+                argThat(page -> page.getSize() == 2 && page.getSort() == OpportunityPageRequestDTO.SortField.ASSIGNED_DATE)))
+                .thenReturn(Flux.just(opportunity, opportunity));
+
+        webTestClient.get().uri("/api/opportunities?status=NEW&brand=Brand&size=2&sort=ASSIGNED_DATE")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OpportunityResponseDTO.class).hasSize(2);
+    }
+
+    @Test
+    void testGetAllOpportunities_EmptyStream() {
+        when(opportunityService.streamOpportunities(any(OpportunityFilterDTO.class), any(OpportunityPageRequestDTO.class)))
+                .thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/opportunities")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(OpportunityResponseDTO.class).hasSize(0);
+    }
+
+    @Test
+    void testGetAllOpportunities_PoolTimeoutBeforeFirstDocument() {
+        when(opportunityService.streamOpportunities(any(OpportunityFilterDTO.class), any(OpportunityPageRequestDTO.class)))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("Timed out",
+                        new MongoTimeoutException("Timed out after 2000 ms while waiting for a connection"))));
+
+        webTestClient.get().uri("/api/opportunities")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.message").isEqualTo("Database is busy, try again later");
+    }
+
+    @Test
+    void testGetAllOpportunities_InvalidCursor() {
+        when(opportunityService.streamOpportunities(any(OpportunityFilterDTO.class), any(OpportunityPageRequestDTO.class)))
+                .thenThrow(new BadRequestException("Invalid cursor"));
+
+        webTestClient.get().uri("/api/opportunities?cursor=not-a-cursor")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid cursor");
+    }
+
+    @Test
+    void testGetAllOpportunities_InvalidStatusParameter() {
+        webTestClient.get().uri("/api/opportunities?status=UNKNOWN")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(opportunityService);
+    }
+
+    @Test
+    void testGetOpportunityById_NotFound() {
+        when(opportunityService.getOpportunityById("1")).thenReturn(Mono.error(new NotFoundException("Opportunity not found")));
+
+        webTestClient.get().uri("/api/opportunities/1")
+                .header(HttpHeaders.AUTHORIZATION, bearer("owner"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Opportunity not found");
+    }
+
+    @Test
+    void testCreateOpportunity_Created() {
+        when(opportunityService.createOpportunity(any(OpportunityRequestDTO.class))).thenReturn(Mono.just(opportunity));
+
+        webTestClient.post().uri("/api/opportunities")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(OpportunityRequestDTO.builder()
+                        .name("Opportunity 1").email("client@example.com").phone("123456789")
+                        .brand("Brand").model("Model").version("Version").yearModel(2022)
+                        .build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo("665f1c2e9b1d4a3f8c0e0001");
+    }
+
+    @Test
+    void testCreateOpportunity_ValidationError() {
+        webTestClient.post().uri("/api/opportunities")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"\"}")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation Error")
+                .jsonPath("$.errors.name").isEqualTo("Name is mandatory");
+        verifyNoInteractions(opportunityService);
+    }
+
+    @Test
+    void testUpdateOpportunityStatus_MissingParameter() {
+        webTestClient.patch().uri("/api/opportunities/1/status?status=COMPLETED")
+                .header(HttpHeaders.AUTHORIZATION, bearer("manager"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(opportunityService);
+    }
+
+    @Test
+    void testAssignOpportunity_Success() {
+        when(opportunityService.assignOpportunity("1", "assistant-id")).thenReturn(Mono.just(opportunity));
+
+        webTestClient.patch().uri("/api/opportunities/1/assign?assistantId=assistant-id")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Opportunity 1");
+    }
+
+    @Test
+    void testRoutes_InvalidToken() {
+        webTestClient.get().uri("/api/opportunities/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid JWT token");
+        verifyNoInteractions(opportunityService);
+    }
+
+    @Test
+    void testRoutes_MissingToken() {
+        webTestClient.get().uri("/api/opportunities/1")
+                .exchange()
+                .expectStatus().isForbidden();
+        verifyNoInteractions(opportunityService);
+    }
+
+    @Test
+    void testRoutes_RoleNotAllowed() {
+        webTestClient.get().uri("/api/opportunities/1")
+                .header(HttpHeaders.AUTHORIZATION, bearer("assistant"))
+                .exchange()
+                .expectStatus().isForbidden();
+        verifyNoInteractions(opportunityService);
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtProvider.generateToken("john.doe@example.com", role);
+    }
+}
@@ -0,0 +1,206 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpenLeadSummary;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AssistantLoadIndexTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OpportunityRepository opportunityRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Spy
+    private DistributionProperties properties = new DistributionProperties();
+
+    @InjectMocks
+    private AssistantLoadIndex assistantLoadIndex;
+
+    private User assistant;
+
+    @BeforeEach
+    void setUp() {
+        properties.setAutoAssign(true);
+        assistant = User.builder()
+                .id("assistant-id")
+                .role(Role.ASSISTANT)
+                .dealershipId("dealership-id")
+                .build();
+    }
+
+    @Test
+    void testAcquire_DisabledDoesNotTouchMongo() {
+        properties.setAutoAssign(false);
+
+        assertTrue(assistantLoadIndex.acquire("dealership-id").isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testAcquire_PicksLeastLoadedWithoutLookingUpTheUser() {
+        AssistantLoadCounter counter = counter(System.currentTimeMillis(), 5L, 1_000L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(counter);
+
+        Optional<AssistantLoadCounter> result = assistantLoadIndex.acquire("dealership-id");
+
+        assertEquals(Optional.of(counter), result);
+        verifyNoInteractions(userRepository, opportunityRepository);
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testAcquire_StaleCounterRecountsOnlyUntouchedCounters() {
+        AssistantLoadCounter picked = counter(0L, 8L, System.currentTimeMillis());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(picked);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(UpdateResult.acknowledged(1L, 1L, null));
+        when(mongoTemplate.find(any(Query.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(List.of(counter(0L, 7L, 1_000L)));
+        when(userRepository.findAllByDealershipIdAndRole("dealership-id", Role.ASSISTANT)).thenReturn(List.of(assistant));
+        when(opportunityRepository.summarizeLoads(List.of("assistant-id")))
+                .thenReturn(List.of(new OpenLeadSummary("assistant-id", 4L, new Date(1_000L))));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssistantLoadCounter.class)).thenReturn(bulkOperations);
+
+        assertEquals(Optional.of(picked), assistantLoadIndex.acquire("dealership-id"));
+
+        // The recount only lands if openLeads and lastAssignedAt are still what was read before it
+        verify(bulkOperations, times(1)).updateOne(
+                argThat((Query query) -> Long.valueOf(7L).equals(query.getQueryObject().get("openLeads"))
+                        && Long.valueOf(1_000L).equals(query.getQueryObject().get("lastAssignedAt"))),
+                argThat((Update update) -> Long.valueOf(4L).equals(update.getUpdateObject().get("$set", Document.class).get("openLeads"))));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void testAcquire_RecountSkipsCounterAcquiredSinceTheClaim() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(counter(0L, 8L, System.currentTimeMillis()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(UpdateResult.acknowledged(1L, 1L, null));
+        when(mongoTemplate.find(any(Query.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(List.of(counter(0L, 8L, Long.MAX_VALUE)));
+        when(userRepository.findAllByDealershipIdAndRole("dealership-id", Role.ASSISTANT)).thenReturn(List.of(assistant));
+        when(opportunityRepository.summarizeLoads(List.of("assistant-id")))
+                .thenReturn(List.of(new OpenLeadSummary("assistant-id", 7L, new Date(1_000L))));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssistantLoadCounter.class)).thenReturn(bulkOperations);
+
+        assistantLoadIndex.acquire("dealership-id");
+
+        verify(bulkOperations, never()).updateOne(any(Query.class),
+                argThat((Update update) -> update.getUpdateObject().get("$set", Document.class).containsKey("openLeads")));
+    }
+
+    @Test
+    void testAcquire_LosingTheRefreshClaimSkipsTheRecount() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(counter(0L, 8L, System.currentTimeMillis()));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(UpdateResult.acknowledged(0L, 0L, null));
+
+        assertTrue(assistantLoadIndex.acquire("dealership-id").isPresent());
+
+        verifyNoInteractions(userRepository, opportunityRepository);
+    }
+
+    @Test
+    void testAcquire_SeedsDealershipWithoutCountersAndDropsLeavers() {
+        AssistantLoadCounter seeded = counter(System.currentTimeMillis(), 1L, System.currentTimeMillis());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(null)
+                .thenReturn(seeded);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(UpdateResult.acknowledged(0L, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(AssistantLoadCounter.class))).thenReturn(false);
+        when(mongoTemplate.find(any(Query.class), eq(AssistantLoadCounter.class))).thenReturn(List.of());
+        when(userRepository.findAllByDealershipIdAndRole("dealership-id", Role.ASSISTANT)).thenReturn(List.of(assistant));
+        when(opportunityRepository.summarizeLoads(List.of("assistant-id"))).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AssistantLoadCounter.class)).thenReturn(bulkOperations);
+
+        assertEquals(Optional.of(seeded), assistantLoadIndex.acquire("dealership-id"));
+
+        verify(mongoTemplate, times(1)).remove(argThat((Query query) -> query.getQueryObject().containsKey("_id")),
+                eq(AssistantLoadCounter.class));
+        verify(bulkOperations, times(1)).upsert(any(Query.class), argThat((Update update) ->
+                update.getUpdateObject().get("$setOnInsert", Document.class).containsKey("openLeads")));
+    }
+
+    @Test
+    void testRemoveAssistant_DropsCounter() {
+        assistantLoadIndex.removeAssistant("assistant-id");
+
+        verify(mongoTemplate, times(1)).remove(argThat((Query query) -> "assistant-id".equals(query.getQueryObject().get("_id"))),
+                eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testTransition_MovesLoadBetweenAssistants() {
+        assistantLoadIndex.transition("from-id", "to-id");
+
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testTransition_SameHolderIsNoOp() {
+        assistantLoadIndex.transition("assistant-id", "assistant-id");
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testLoadHolder_IgnoresCompletedOpportunities() {
+        Opportunity completed = Opportunity.builder().userId(assistant.getId()).status(OpportunityStatus.COMPLETED).build();
+        Opportunity inProgress = Opportunity.builder().userId(assistant.getId()).status(OpportunityStatus.IN_PROGRESS).build();
+
+        assertNull(AssistantLoadIndex.loadHolder(completed));
+        assertEquals("assistant-id", AssistantLoadIndex.loadHolder(inProgress));
+    }
+
+    private static AssistantLoadCounter counter(long refreshedAt, long openLeads, long lastAssignedAt) {
+        return AssistantLoadCounter.builder()
+                .assistantId("assistant-id")
+                .assistantName("Assistant")
+                .dealershipId("dealership-id")
+                .openLeads(openLeads)
+                .lastAssignedAt(lastAssignedAt)
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpenLeadSummary;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.models.enums.Role;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OpportunityDistributorTest {
+
+    @Mock
+    private OpportunityRepository opportunityRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private AssistantLoadIndex assistantLoadIndex;
+
+    @Spy
+    private DistributionProperties properties = new DistributionProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DistributionExecutor distributionExecutor = new DistributionExecutor(new DistributionProperties(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private OpportunityDistributor opportunityDistributor;
+
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = User.builder().id("alice").name("Alice").role(Role.ASSISTANT).dealershipId("dealership-id").build();
+        bob = User.builder().id("bob").name("Bob").role(Role.ASSISTANT).dealershipId("dealership-id").build();
+        carol = User.builder().id("carol").name("Carol").role(Role.ASSISTANT).dealershipId("dealership-id").build();
+        properties.setBatchSize(2);
+    }
+
+    @Test
+    void testDistribute_AssignsLeastBusyAssistantFirst() {
+        List<Opportunity> backlog = backlog(4);
+        mockBacklog(backlog);
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice, bob, carol));
+        mockLoads(load("alice", 3L, null), load("bob", 1L, null));
+        mockBulkWrites(2, 2);
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertEquals(List.of("carol", "bob", "carol", "bob"), assigneeIds(result));
+        assertTrue(result.stream().allMatch(opportunity -> opportunity.getAssignedDate() != null));
+        verify(opportunityRepository, times(1)).summarizeLoads(List.of("alice", "bob", "carol"));
+        verify(opportunityRepository, never()).findAllByUserId(anyString());
+        verify(opportunityRepository, never()).save(any(Opportunity.class));
+        verify(bulkOperations, times(4)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(2)).execute();
+        verify(assistantLoadIndex, times(1)).recordAssignments(result);
+        assertEquals(4.0, meterRegistry.get("opportunities.distribution.assigned").counter().count());
+        assertEquals(3.0, meterRegistry.get("opportunities.distribution.assistants").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("opportunities.distribution.duration").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testDistribute_ReturnsOnlyOpportunitiesWrittenByThisRun() {
+        List<Opportunity> backlog = backlog(2);
+        mockBacklog(backlog);
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice));
+        mockLoads();
+        mockBulkWrites(1);
+        // The first lead was taken by another run in between and now belongs to someone else
+        when(mongoTemplate.find(any(Query.class), eq(Opportunity.class))).thenAnswer(invocation -> List.of(
+                Opportunity.builder().id("0").userId("someone-else").assignedDate(backlog.get(0).getAssignedDate()).build(),
+                Opportunity.builder().id("1").userId("alice").assignedDate(backlog.get(1).getAssignedDate()).build()));
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertEquals(1, result.size());
+        assertEquals("1", result.get(0).getId());
+    }
+
+    @Test
+    void testDistribute_BreaksTiesByOldestLastAssignment() {
+        mockBacklog(backlog(3));
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice, bob, carol));
+        mockLoads(load("alice", 2L, 3_000L), load("bob", 2L, 1_000L), load("carol", 2L, 2_000L));
+        mockBulkWrites(2, 1);
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertEquals(List.of("bob", "carol", "alice"), assigneeIds(result));
+    }
+
+    @Test
+    void testDistribute_StopsAtAssistantCapacity() {
+        properties.setMaxOpenLeadsPerAssistant(2);
+        mockBacklog(backlog(4));
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice, bob));
+        mockLoads(load("alice", 2L, null));
+        mockBulkWrites(2);
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertEquals(List.of("bob", "bob"), assigneeIds(result));
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void testDistribute_KeepsLeadsWithinTheirDealershipAndPoolsTheRest() {
+        User dave = User.builder().id("dave").name("Dave").role(Role.ASSISTANT).dealershipId("other-dealership").build();
+        List<Opportunity> backlog = backlog(4);
+        backlog.get(1).setDealershipId("other-dealership");
+        backlog.get(2).setDealershipId(null);
+        backlog.get(3).setDealershipId("dealership-without-assistants");
+        mockBacklog(backlog);
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice, dave));
+        mockLoads();
+        mockBulkWrites(1, 1, 1);
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        // The lead without a dealership goes to the pool of every assistant, after the dealership partitions
+        assertEquals(List.of("0", "1", "2"), result.stream().map(Opportunity::getId).collect(Collectors.toList()));
+        assertEquals(List.of("alice", "dave", "alice"), assigneeIds(result));
+        assertNull(backlog.get(3).getUserId());
+    }
+
+    @Test
+    void testDistribute_ReadsTheBacklogInPages() {
+        properties.setBacklogPageSize(2);
+        List<Opportunity> backlog = backlog(3);
+        when(opportunityRepository.findUnassigned(null, 2)).thenReturn(backlog.subList(0, 2));
+        when(opportunityRepository.findUnassigned("1", 2)).thenReturn(backlog.subList(2, 3));
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of(alice, bob));
+        mockLoads();
+        mockBulkWrites(2, 1);
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertEquals(3, result.size());
+        verify(userRepository, times(1)).findAllByRole(Role.ASSISTANT);
+        verify(opportunityRepository, times(2)).summarizeLoads(List.of("alice", "bob"));
+        verify(opportunityRepository, never()).findUnassigned("2", 2);
+    }
+
+    @Test
+    void testDistribute_NoUnassignedOpportunities() {
+        mockBacklog(List.of());
+
+        List<Opportunity> result = opportunityDistributor.distribute();
+
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findAllByRole(any());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Opportunity.class));
+    }
+
+    @Test
+    void testDistribute_NoAssistantsLeavesTheBacklog() {
+        mockBacklog(backlog(1));
+        when(userRepository.findAllByRole(Role.ASSISTANT)).thenReturn(List.of());
+
+        assertTrue(opportunityDistributor.distribute().isEmpty());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Opportunity.class));
+        assertEquals(1, meterRegistry.get("opportunities.distribution.duration").tag("outcome", "success").timer().count());
+    }
+
+    private void mockBacklog(List<Opportunity> backlog) {
+        when(opportunityRepository.findUnassigned(null, properties.getBacklogPageSize())).thenReturn(backlog);
+    }
+
+    private void mockLoads(OpenLeadSummary... loads) {
+        when(opportunityRepository.summarizeLoads(anyList())).thenReturn(List.of(loads));
+    }
+
+    private static OpenLeadSummary load(String userId, long openLeads, Long lastAssignedAt) {
+        return new OpenLeadSummary(userId, openLeads, lastAssignedAt != null ? new Date(lastAssignedAt) : null);
+    }
+
+    private void mockBulkWrites(Integer matchedCount, Integer... nextMatchedCounts) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getMatchedCount()).thenReturn(matchedCount, nextMatchedCounts);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.updateOne(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(result);
+    }
+
+    private List<Opportunity> backlog(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> Opportunity.builder()
+                        .id(String.valueOf(i))
+                        .name("Opportunity " + i)
+                        .status(OpportunityStatus.NEW)
+                        .dealershipId("dealership-id")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<String> assigneeIds(List<Opportunity> opportunities) {
+        return opportunities.stream()
+                .map(opportunity -> opportunity.getUserId())
+                .collect(Collectors.toList());
+    }
+}
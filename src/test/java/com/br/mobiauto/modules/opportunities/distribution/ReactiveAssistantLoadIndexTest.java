@@ -0,0 +1,102 @@
+package com.br.mobiauto.modules.opportunities.distribution;
+
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveAssistantLoadIndexTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private AssistantLoadIndex assistantLoadIndex;
+
+    @InjectMocks
+    private ReactiveAssistantLoadIndex reactiveAssistantLoadIndex;
+
+    @Test
+    void testAcquire_DisabledDoesNotTouchMongo() {
+        when(assistantLoadIndex.assignsIn("dealership-id")).thenReturn(false);
+
+        StepVerifier.create(reactiveAssistantLoadIndex.acquire("dealership-id")).verifyComplete();
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    void testAcquire_FreshCounterSkipsTheRecount() {
+        AssistantLoadCounter counter = AssistantLoadCounter.builder().assistantId("assistant-id").build();
+        when(assistantLoadIndex.assignsIn("dealership-id")).thenReturn(true);
+        when(reactiveMongoTemplate.findAndModify(any(), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(Mono.just(counter));
+        when(assistantLoadIndex.isStale(eq(counter), anyLong())).thenReturn(false);
+
+        StepVerifier.create(reactiveAssistantLoadIndex.acquire("dealership-id"))
+                .expectNext(counter)
+                .verifyComplete();
+        verify(assistantLoadIndex, never()).refreshIfDue(any(), any(), anyLong());
+    }
+
+    @Test
+    void testAcquire_SeedsDealershipWithoutCountersThenPicksAgain() {
+        AssistantLoadCounter counter = AssistantLoadCounter.builder().assistantId("assistant-id").build();
+        when(assistantLoadIndex.assignsIn("dealership-id")).thenReturn(true);
+        when(reactiveMongoTemplate.findAndModify(any(), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(Mono.empty(), Mono.just(counter));
+        when(assistantLoadIndex.isStale(isNull(), anyLong())).thenReturn(true);
+        when(assistantLoadIndex.refreshIfDue(eq("dealership-id"), isNull(), anyLong())).thenReturn(true);
+
+        StepVerifier.create(reactiveAssistantLoadIndex.acquire("dealership-id"))
+                .expectNext(counter)
+                .verifyComplete();
+        verify(reactiveMongoTemplate, times(2))
+                .findAndModify(any(), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testAcquire_LosingTheRefreshClaimKeepsThePickedCounter() {
+        AssistantLoadCounter counter = AssistantLoadCounter.builder().assistantId("assistant-id").build();
+        when(assistantLoadIndex.assignsIn("dealership-id")).thenReturn(true);
+        when(reactiveMongoTemplate.findAndModify(any(), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(Mono.just(counter));
+        when(assistantLoadIndex.isStale(eq(counter), anyLong())).thenReturn(true);
+        when(assistantLoadIndex.refreshIfDue(eq("dealership-id"), eq(counter), anyLong())).thenReturn(false);
+
+        StepVerifier.create(reactiveAssistantLoadIndex.acquire("dealership-id"))
+                .expectNext(counter)
+                .verifyComplete();
+        verify(reactiveMongoTemplate, times(1))
+                .findAndModify(any(), any(Update.class), any(FindAndModifyOptions.class), eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testTransition_MovesLoadBetweenAssistants() {
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(reactiveAssistantLoadIndex.transition("from-id", "to-id")).verifyComplete();
+        verify(reactiveMongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(AssistantLoadCounter.class));
+    }
+
+    @Test
+    void testTransition_SameHolderIsNoOp() {
+        StepVerifier.create(reactiveAssistantLoadIndex.transition("assistant-id", "assistant-id")).verifyComplete();
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+}
@@ -0,0 +1,114 @@
+package com.br.mobiauto.modules.opportunities.exports;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OpportunityExporterTest {
+
+    @Mock
+    private OpportunityRepository opportunityRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OpportunityExporter opportunityExporter;
+
+    private Opportunity first;
+    private Opportunity second;
+
+    @BeforeEach
+    void setUp() {
+        opportunityExporter = new OpportunityExporter(opportunityRepository, objectMapper);
+        first = Opportunity.builder()
+                .id("1")
+                .name("Opportunity 1")
+                .brand("Brand")
+                .yearModel(2022)
+                .status(OpportunityStatus.NEW)
+                .lastModifiedDate(new Date(0L))
+                .build();
+        second = Opportunity.builder()
+                .id("2")
+                .name("Silva, \"Jr\"")
+                .brand("Brand")
+                .yearModel(2023)
+                .status(OpportunityStatus.IN_PROGRESS)
+                .build();
+    }
+
+    @Test
+    void testExport_WritesOneJsonDocumentPerLine() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        OpportunityFilterDTO filter = OpportunityFilterDTO.builder().brand("Brand").build();
+        Date modifiedSince = new Date(0L);
+        when(opportunityRepository.streamAll(filter, modifiedSince))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        opportunityExporter.export(filter, modifiedSince, OpportunityExportFormat.NDJSON, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("IN_PROGRESS", objectMapper.readTree(lines[1]).get("status").asText());
+        assertTrue(closed.get());
+        verify(opportunityRepository, never()).findAll();
+    }
+
+    @Test
+    void testExport_WritesCsvWithHeaderAndEscapedValues() throws Exception {
+        when(opportunityRepository.streamAll(null, null)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        opportunityExporter.export(null, null, OpportunityExportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,status,name,"));
+        assertTrue(lines[1].startsWith("1,NEW,Opportunity 1,,,Brand,,,2022,"));
+        assertTrue(lines[1].endsWith(",1970-01-01T00:00:00Z"));
+        assertTrue(lines[2].startsWith("2,IN_PROGRESS,\"Silva, \"\"Jr\"\"\",,,Brand,"));
+    }
+
+    @Test
+    void testExport_CsvNeutralisesFormulaCells() throws Exception {
+        first.setName("=HYPERLINK(\"http://evil\")");
+        first.setPhone("+5511999999999");
+        first.setModel("@SUM(A1)");
+        first.setVersion("-1");
+        when(opportunityRepository.streamAll(null, null)).thenReturn(Stream.of(first));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        opportunityExporter.export(null, null, OpportunityExportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[1].startsWith("1,NEW,\"'=HYPERLINK(\"\"http://evil\"\")\",,'+5511999999999,Brand,'@SUM(A1),'-1,2022,"));
+    }
+
+    @Test
+    void testExport_EmptyResultWritesNothing() throws Exception {
+        when(opportunityRepository.streamAll(null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        opportunityExporter.export(null, null, OpportunityExportFormat.NDJSON, outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.br.mobiauto.modules.opportunities.ingestion;
+
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResponseDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityIngestResultDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OpportunityIngestorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private DealershipRepository dealershipRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private IngestionProperties properties;
+
+    private OpportunityIngestor opportunityIngestor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IngestionProperties();
+        properties.setChunkSize(2);
+        opportunityIngestor = new OpportunityIngestor(mongoTemplate, dealershipRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), properties);
+    }
+
+    @Test
+    void testIngest_NdjsonReportsEveryItemWithoutStoppingOnInvalidOnes() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(Opportunity.class))).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(mock(BulkWriteResult.class));
+        String body = lead("a@example.com", "Model") + "\n"
+                + "{\"name\": \"No email\", \"phone\": \"1\", \"brand\": \"Brand\", \"model\": \"Model\", \"version\": \"V\"}\n"
+                + lead("b@example.com", "Model") + "\n"
+                + lead("a@example.com", "Model") + "\n";
+
+        OpportunityIngestResponseDTO response = opportunityIngestor.ingest(stream(body));
+
+        assertEquals(List.of(OpportunityIngestResultDTO.Outcome.CREATED, OpportunityIngestResultDTO.Outcome.INVALID,
+                OpportunityIngestResultDTO.Outcome.CREATED, OpportunityIngestResultDTO.Outcome.DUPLICATE), outcomes(response));
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(1, response.getRejected());
+        assertNotNull(response.getResults().get(0).getId());
+        assertEquals("Email is mandatory", response.getResults().get(1).getErrors().get("email"));
+        verify(bulkOperations, times(2)).insert(anyList());
+        verify(mongoTemplate, never()).save(any(Opportunity.class));
+    }
+
+    @Test
+    void testIngest_JsonArraySkipsRecentLeadsAndUnknownDealerships() throws Exception {
+        properties.setChunkSize(10);
+        when(dealershipRepository.existsById("missing")).thenReturn(false);
+        when(mongoTemplate.find(any(Query.class), eq(Opportunity.class))).thenReturn(List.of(
+                Opportunity.builder().email("a@example.com").phone("123456789").model("Model").build()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(mock(BulkWriteResult.class));
+        String body = "[" + lead("a@example.com", "Model") + ","
+                + lead("a@example.com", "Other model") + ","
+                + lead("c@example.com", "Model").replace("}", ", \"dealershipId\": \"missing\"}") + "]";
+
+        OpportunityIngestResponseDTO response = opportunityIngestor.ingest(stream(body));
+
+        assertEquals(List.of(OpportunityIngestResultDTO.Outcome.DUPLICATE, OpportunityIngestResultDTO.Outcome.CREATED,
+                OpportunityIngestResultDTO.Outcome.INVALID), outcomes(response));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Opportunity>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(OpportunityStatus.NEW, inserted.getValue().get(0).getStatus());
+    }
+
+    @Test
+    void testIngest_ReportsItemsRejectedByMongo() throws Exception {
+        properties.setDedupWindow(Duration.ZERO);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Opportunity.class)).thenReturn(bulkOperations);
+        BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("failed",
+                new MongoBulkWriteException(mock(BulkWriteResult.class), List.of(error), null, new ServerAddress(), Set.of())));
+
+        OpportunityIngestResponseDTO response = opportunityIngestor.ingest(stream(
+                lead("a@example.com", "Model") + lead("a@example.com", "Model")));
+
+        assertEquals(List.of(OpportunityIngestResultDTO.Outcome.CREATED, OpportunityIngestResultDTO.Outcome.FAILED),
+                outcomes(response));
+        assertEquals("duplicate key", response.getResults().get(1).getErrors().get("insert"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Opportunity.class));
+    }
+
+    private static String lead(String email, String model) {
+        return "{\"name\": \"Lead\", \"email\": \"" + email + "\", \"phone\": \"123456789\", \"brand\": \"Brand\", "
+                + "\"model\": \"" + model + "\", \"version\": \"Version\", \"yearModel\": 2022}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<OpportunityIngestResultDTO.Outcome> outcomes(OpportunityIngestResponseDTO response) {
+        return response.getResults().stream()
+                .map(OpportunityIngestResultDTO::getOutcome)
+                .collect(Collectors.toList());
+    }
+}
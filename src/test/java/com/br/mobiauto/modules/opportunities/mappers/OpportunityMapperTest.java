@@ -0,0 +1,75 @@
+package com.br.mobiauto.modules.opportunities.mappers;
+
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpportunityMapperTest {
+
+    @Test
+    void testToOpportunityResponseDTO_CopiesEveryExposedField() {
+        Opportunity opportunity = Opportunity.builder()
+                .id("1")
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .status(OpportunityStatus.COMPLETED)
+                .conclusionReason("Sold")
+                .dealershipId("dealership-id")
+                .userId("assistant-id")
+                .userName("Assistant")
+                .build();
+
+        OpportunityResponseDTO result = OpportunityMapper.toOpportunityResponseDTO(opportunity);
+
+        assertEquals(OpportunityResponseDTO.builder()
+                .id("1")
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .status(OpportunityStatus.COMPLETED)
+                .conclusionReason("Sold")
+                .dealershipId("dealership-id")
+                .userId("assistant-id")
+                .userName("Assistant")
+                .build(), result);
+    }
+
+    @Test
+    void testUpdateOpportunityEntity_KeepsDealershipAndServerFieldsWhenAbsent() {
+        Opportunity opportunity = Opportunity.builder()
+                .id("1")
+                .name("Old name")
+                .version("Old version")
+                .status(OpportunityStatus.IN_PROGRESS)
+                .dealershipId("dealership-id")
+                .userId("assistant-id")
+                .build();
+        OpportunityRequestDTO request = OpportunityRequestDTO.builder()
+                .name("New name")
+                .yearModel(2024)
+                .build();
+
+        OpportunityMapper.updateOpportunityEntity(request, opportunity);
+
+        assertEquals("New name", opportunity.getName());
+        assertNull(opportunity.getVersion());
+        assertEquals(2024, opportunity.getYearModel());
+        assertEquals("dealership-id", opportunity.getDealershipId());
+        assertEquals("1", opportunity.getId());
+        assertEquals(OpportunityStatus.IN_PROGRESS, opportunity.getStatus());
+        assertEquals("assistant-id", opportunity.getUserId());
+    }
+}
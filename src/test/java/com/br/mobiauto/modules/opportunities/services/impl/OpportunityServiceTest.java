@@ -1,10 +1,22 @@
 package com.br.mobiauto.modules.opportunities.services.impl;
 
+import com.br.mobiauto.exceptions.BadRequestException;
 import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.distribution.OpportunityDistributor;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
 import com.br.mobiauto.modules.opportunities.dtos.OpportunityResponseDTO;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExportFormat;
+import com.br.mobiauto.modules.opportunities.exports.OpportunityExporter;
+import com.br.mobiauto.modules.opportunities.ingestion.OpportunityIngestor;
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
 import com.br.mobiauto.modules.opportunities.models.Opportunity;
 import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityCursor;
 import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
 import com.br.mobiauto.modules.users.models.User;
 import com.br.mobiauto.modules.users.repositories.UserRepository;
@@ -14,12 +26,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +49,21 @@ public class OpportunityServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DealershipRepository dealershipRepository;
+
+    @Mock
+    private OpportunityDistributor opportunityDistributor;
+
+    @Mock
+    private AssistantLoadIndex assistantLoadIndex;
+
+    @Mock
+    private OpportunityExporter opportunityExporter;
+
+    @Mock
+    private OpportunityIngestor opportunityIngestor;
+
     @InjectMocks
     private OpportunityService opportunityService;
 
@@ -67,7 +100,7 @@ public class OpportunityServiceTest {
                 .version("Version")
                 .yearModel(2022)
                 .status(OpportunityStatus.NEW)
-                .user(user)
+                .userId(user.getId())
                 .build();
     }
 
@@ -85,14 +118,77 @@ public class OpportunityServiceTest {
                 .status(OpportunityStatus.NEW)
                 .build();
 
-        when(opportunityRepository.findAll()).thenReturn(List.of(opportunity, anotherOpportunity));
+        OpportunityFilterDTO filter = OpportunityFilterDTO.builder().status(OpportunityStatus.NEW).build();
+        when(opportunityRepository.findPage(filter, OpportunityPageRequestDTO.SortField.ID, Sort.Direction.ASC, null, 51))
+                .thenReturn(List.of(opportunity, anotherOpportunity));
 
-        List<OpportunityResponseDTO> result = opportunityService.getAllOpportunities();
+        OpportunityPageDTO result = opportunityService.getAllOpportunities(filter, new OpportunityPageRequestDTO());
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Opportunity 1", result.get(0).getName());
-        assertEquals("Opportunity 2", result.get(1).getName());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Opportunity 1", result.getItems().get(0).getName());
+        assertEquals("Opportunity 2", result.getItems().get(1).getName());
+        assertNull(result.getNextCursor());
+        verify(opportunityRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllOpportunities_ReturnsCursorOfLastItemWhenMoreRemain() {
+        Opportunity assigned = Opportunity.builder().id("665f1c2e9b1d4a3f8c0e0001").name("Opportunity 1").assignedDate(new Date(1_000L)).build();
+        Opportunity next = Opportunity.builder().id("665f1c2e9b1d4a3f8c0e0002").name("Opportunity 2").assignedDate(new Date(2_000L)).build();
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder()
+                .sort(OpportunityPageRequestDTO.SortField.ASSIGNED_DATE)
+                .size(1)
+                .build();
+        when(opportunityRepository.findPage(isNull(), eq(OpportunityPageRequestDTO.SortField.ASSIGNED_DATE), eq(Sort.Direction.ASC), isNull(), eq(2)))
+                .thenReturn(List.of(assigned, next));
+
+        OpportunityPageDTO result = opportunityService.getAllOpportunities(null, pageRequest);
+
+        assertEquals(1, result.getItems().size());
+        OpportunityCursor cursor = OpportunityCursor.decode(result.getNextCursor(), OpportunityPageRequestDTO.SortField.ASSIGNED_DATE);
+        assertEquals("665f1c2e9b1d4a3f8c0e0001", cursor.getId());
+        assertEquals(1_000L, cursor.getAssignedDate().getTime());
+    }
+
+    @Test
+    void testGetAllOpportunities_ResumesAfterCursorAndClampsSize() {
+        String cursor = new OpportunityCursor(null, "665f1c2e9b1d4a3f8c0e0001").encode();
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder()
+                .cursor(cursor)
+                .direction(Sort.Direction.DESC)
+                .size(10_000)
+                .build();
+        when(opportunityRepository.findPage(isNull(), eq(OpportunityPageRequestDTO.SortField.ID), eq(Sort.Direction.DESC),
+                argThat(after -> "665f1c2e9b1d4a3f8c0e0001".equals(after.getId())), eq(501)))
+                .thenReturn(List.of(opportunity));
+
+        OpportunityPageDTO result = opportunityService.getAllOpportunities(null, pageRequest);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllOpportunities_InvalidCursor() {
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder()
+                .cursor("not-a-cursor")
+                .sort(OpportunityPageRequestDTO.SortField.ASSIGNED_DATE)
+                .build();
+
+        assertThrows(BadRequestException.class, () -> opportunityService.getAllOpportunities(null, pageRequest));
+    }
+
+    @Test
+    void testExportOpportunities_DelegatesToExporter() throws Exception {
+        OpportunityFilterDTO filter = OpportunityFilterDTO.builder().dealershipId("dealership-id").build();
+        Date modifiedSince = new Date(1_000L);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        opportunityService.exportOpportunities(filter, modifiedSince, OpportunityExportFormat.CSV, outputStream);
+
+        verify(opportunityExporter, times(1)).export(filter, modifiedSince, OpportunityExportFormat.CSV, outputStream);
+        verify(opportunityRepository, never()).findAll();
     }
 
     @Test
@@ -122,6 +218,39 @@ public class OpportunityServiceTest {
         assertEquals("Opportunity 1", result.getName());
     }
 
+    @Test
+    void testCreateOpportunity_AutoAssignsLeastLoadedAssistant() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(true);
+        when(assistantLoadIndex.acquire("dealership-id")).thenReturn(Optional.of(counterOf(user)));
+        when(opportunityRepository.save(any(Opportunity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        opportunityService.createOpportunity(opportunityRequestDTO);
+
+        verify(opportunityRepository).save(argThat(saved -> user.getId().equals(saved.getUserId())
+                && user.getName().equals(saved.getUserName()) && saved.getAssignedDate() != null));
+    }
+
+    @Test
+    void testCreateOpportunity_ReleasesAcquiredAssistantWhenSaveFails() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(true);
+        when(assistantLoadIndex.acquire("dealership-id")).thenReturn(Optional.of(counterOf(user)));
+        when(opportunityRepository.save(any(Opportunity.class))).thenThrow(new DataAccessResourceFailureException("write failed"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> opportunityService.createOpportunity(opportunityRequestDTO));
+        verify(assistantLoadIndex, times(1)).transition(user.getId(), null);
+    }
+
+    @Test
+    void testCreateOpportunity_DealershipNotFound() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> opportunityService.createOpportunity(opportunityRequestDTO));
+        verify(opportunityRepository, never()).save(any(Opportunity.class));
+    }
+
     @Test
     void testUpdateOpportunity_Success() {
         when(opportunityRepository.findById("1")).thenReturn(Optional.of(opportunity));
@@ -133,6 +262,7 @@ public class OpportunityServiceTest {
 
         assertNotNull(result);
         assertEquals("Updated Opportunity", result.getName());
+        verify(assistantLoadIndex, times(1)).transition(user.getId(), user.getId());
     }
 
     @Test
@@ -149,6 +279,7 @@ public class OpportunityServiceTest {
 
         assertDoesNotThrow(() -> opportunityService.deleteOpportunity("1"));
         verify(opportunityRepository, times(1)).delete(opportunity);
+        verify(assistantLoadIndex, times(1)).transition("user-id", null);
     }
 
     @Test
@@ -194,6 +325,7 @@ public class OpportunityServiceTest {
 
         assertNotNull(result);
         assertEquals(OpportunityStatus.COMPLETED, result.getStatus());
+        verify(assistantLoadIndex, times(1)).transition("user-id", null);
     }
 
     @Test
@@ -202,4 +334,24 @@ public class OpportunityServiceTest {
 
         assertThrows(NotFoundException.class, () -> opportunityService.updateOpportunityStatus("1", "COMPLETED", "Reason"));
     }
+
+    @Test
+    void testDistributeOpportunities() {
+        when(opportunityDistributor.distribute()).thenReturn(List.of(opportunity));
+
+        List<OpportunityResponseDTO> result = opportunityService.distributeOpportunities();
+
+        assertEquals(1, result.size());
+        assertEquals("Opportunity 1", result.get(0).getName());
+        verify(opportunityDistributor, times(1)).distribute();
+        verify(opportunityRepository, never()).findAll();
+    }
+
+    private static AssistantLoadCounter counterOf(User assistant) {
+        return AssistantLoadCounter.builder()
+                .assistantId(assistant.getId())
+                .assistantName(assistant.getName())
+                .dealershipId(assistant.getDealershipId())
+                .build();
+    }
 }
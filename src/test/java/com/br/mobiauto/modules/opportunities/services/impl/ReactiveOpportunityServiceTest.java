@@ -0,0 +1,261 @@
+package com.br.mobiauto.modules.opportunities.services.impl;
+
+import com.br.mobiauto.exceptions.BadRequestException;
+import com.br.mobiauto.exceptions.NotFoundException;
+import com.br.mobiauto.modules.dealerships.models.Dealership;
+import com.br.mobiauto.modules.opportunities.distribution.ReactiveAssistantLoadIndex;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityFilterDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityPageRequestDTO;
+import com.br.mobiauto.modules.opportunities.dtos.OpportunityRequestDTO;
+import com.br.mobiauto.modules.opportunities.models.AssistantLoadCounter;
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.models.enums.OpportunityStatus;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityCursor;
+import com.br.mobiauto.modules.opportunities.repositories.ReactiveOpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveOpportunityServiceTest {
+
+    @Mock
+    private ReactiveOpportunityRepository reactiveOpportunityRepository;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private ReactiveAssistantLoadIndex reactiveAssistantLoadIndex;
+
+    @InjectMocks
+    private ReactiveOpportunityService reactiveOpportunityService;
+
+    private OpportunityRequestDTO opportunityRequestDTO;
+    private Opportunity opportunity;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id("user-id")
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .password("password")
+                .build();
+
+        opportunityRequestDTO = OpportunityRequestDTO.builder()
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .build();
+
+        opportunity = Opportunity.builder()
+                .id("665f1c2e9b1d4a3f8c0e0001")
+                .name("Opportunity 1")
+                .email("client@example.com")
+                .phone("123456789")
+                .brand("Brand")
+                .model("Model")
+                .version("Version")
+                .yearModel(2022)
+                .status(OpportunityStatus.NEW)
+                .userId(user.getId())
+                .build();
+
+        lenient().when(reactiveAssistantLoadIndex.transition(any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void testStreamOpportunities_StreamsEveryMatchWithoutSize() {
+        OpportunityFilterDTO filter = OpportunityFilterDTO.builder().status(OpportunityStatus.NEW).build();
+        when(reactiveOpportunityRepository.streamPage(filter, OpportunityPageRequestDTO.SortField.ID, Sort.Direction.ASC, null, null))
+                .thenReturn(Flux.just(opportunity, opportunity));
+
+        StepVerifier.create(reactiveOpportunityService.streamOpportunities(filter, new OpportunityPageRequestDTO()))
+                .expectNextMatches(result -> "Opportunity 1".equals(result.getName()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamOpportunities_ResumesAfterCursorWithoutClampingSize() {
+        String cursor = new OpportunityCursor(null, "665f1c2e9b1d4a3f8c0e0001").encode();
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder()
+                .cursor(cursor)
+                .direction(Sort.Direction.DESC)
+                .size(10_000)
+                .build();
+        when(reactiveOpportunityRepository.streamPage(isNull(), eq(OpportunityPageRequestDTO.SortField.ID), eq(Sort.Direction.DESC),
+                argThat(after -> "665f1c2e9b1d4a3f8c0e0001".equals(after.getId())), eq(10_000)))
+                .thenReturn(Flux.just(opportunity));
+
+        StepVerifier.create(reactiveOpportunityService.streamOpportunities(null, pageRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamOpportunities_InvalidCursorRejectedBeforeStreaming() {
+        OpportunityPageRequestDTO pageRequest = OpportunityPageRequestDTO.builder().cursor("not-a-cursor").build();
+
+        assertThrows(BadRequestException.class, () -> reactiveOpportunityService.streamOpportunities(null, pageRequest));
+        verifyNoInteractions(reactiveOpportunityRepository);
+    }
+
+    @Test
+    void testGetOpportunityById_Success() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.just(opportunity));
+
+        StepVerifier.create(reactiveOpportunityService.getOpportunityById("1"))
+                .expectNextMatches(result -> "Opportunity 1".equals(result.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetOpportunityById_NotFound() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOpportunityService.getOpportunityById("1"))
+                .verifyError(NotFoundException.class);
+    }
+
+    @Test
+    void testCreateOpportunity_Success() {
+        when(reactiveAssistantLoadIndex.acquire(null)).thenReturn(Mono.empty());
+        when(reactiveOpportunityRepository.save(any(Opportunity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveOpportunityService.createOpportunity(opportunityRequestDTO))
+                .expectNextMatches(result -> result.getStatus() == OpportunityStatus.NEW && result.getUserId() == null)
+                .verifyComplete();
+        verify(reactiveMongoTemplate, never()).exists(any(Query.class), eq(Dealership.class));
+    }
+
+    @Test
+    void testCreateOpportunity_AutoAssignsLeastLoadedAssistant() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Dealership.class))).thenReturn(Mono.just(true));
+        when(reactiveAssistantLoadIndex.acquire("dealership-id")).thenReturn(Mono.just(counterOf(user)));
+        when(reactiveOpportunityRepository.save(any(Opportunity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveOpportunityService.createOpportunity(opportunityRequestDTO))
+                .expectNextMatches(result -> user.getId().equals(result.getUserId()) && user.getName().equals(result.getUserName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testCreateOpportunity_ReleasesAcquiredAssistantWhenSaveFails() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Dealership.class))).thenReturn(Mono.just(true));
+        when(reactiveAssistantLoadIndex.acquire("dealership-id")).thenReturn(Mono.just(counterOf(user)));
+        when(reactiveOpportunityRepository.save(any(Opportunity.class)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("write failed")));
+
+        StepVerifier.create(reactiveOpportunityService.createOpportunity(opportunityRequestDTO))
+                .verifyError(DataAccessResourceFailureException.class);
+        verify(reactiveAssistantLoadIndex, times(1)).transition(user.getId(), null);
+    }
+
+    @Test
+    void testCreateOpportunity_DealershipNotFound() {
+        opportunityRequestDTO.setDealershipId("dealership-id");
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Dealership.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(reactiveOpportunityService.createOpportunity(opportunityRequestDTO))
+                .verifyError(NotFoundException.class);
+        verify(reactiveOpportunityRepository, never()).save(any(Opportunity.class));
+    }
+
+    @Test
+    void testAssignOpportunity_Success() {
+        User assistant = User.builder().id("assistant-id").name("Jane Roe").build();
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.just(opportunity));
+        when(reactiveMongoTemplate.findById("assistant-id", User.class)).thenReturn(Mono.just(assistant));
+        when(reactiveOpportunityRepository.save(any(Opportunity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveOpportunityService.assignOpportunity("1", "assistant-id"))
+                .expectNextMatches(result -> "assistant-id".equals(result.getUserId()) && "Jane Roe".equals(result.getUserName()))
+                .verifyComplete();
+        verify(reactiveAssistantLoadIndex, times(1)).transition("user-id", "assistant-id");
+    }
+
+    @Test
+    void testAssignOpportunity_OpportunityNotFound() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOpportunityService.assignOpportunity("1", "user-id"))
+                .verifyErrorMessage("Opportunity not found");
+        verify(reactiveMongoTemplate, never()).findById(any(), eq(User.class));
+    }
+
+    @Test
+    void testAssignOpportunity_UserNotFound() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.just(opportunity));
+        when(reactiveMongoTemplate.findById("user-id", User.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOpportunityService.assignOpportunity("1", "user-id"))
+                .verifyErrorMessage("Assistant not found");
+        verify(reactiveOpportunityRepository, never()).save(any(Opportunity.class));
+    }
+
+    @Test
+    void testUpdateOpportunityStatus_Success() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.just(opportunity));
+        when(reactiveOpportunityRepository.save(any(Opportunity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveOpportunityService.updateOpportunityStatus("1", "completed", "Reason"))
+                .assertNext(result -> {
+                    assertEquals(OpportunityStatus.COMPLETED, result.getStatus());
+                    assertEquals("Reason", result.getConclusionReason());
+                })
+                .verifyComplete();
+        verify(reactiveAssistantLoadIndex, times(1)).transition("user-id", null);
+    }
+
+    @Test
+    void testUpdateOpportunityStatus_InvalidStatus() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.just(opportunity));
+
+        StepVerifier.create(reactiveOpportunityService.updateOpportunityStatus("1", "UNKNOWN", "Reason"))
+                .verifyError(IllegalArgumentException.class);
+        verify(reactiveOpportunityRepository, never()).save(any(Opportunity.class));
+    }
+
+    @Test
+    void testUpdateOpportunityStatus_NotFound() {
+        when(reactiveOpportunityRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOpportunityService.updateOpportunityStatus("1", "COMPLETED", "Reason"))
+                .verifyError(NotFoundException.class);
+    }
+
+    private static AssistantLoadCounter counterOf(User assistant) {
+        return AssistantLoadCounter.builder()
+                .assistantId(assistant.getId())
+                .assistantName(assistant.getName())
+                .dealershipId(assistant.getDealershipId())
+                .build();
+    }
+}
@@ -4,19 +4,21 @@ import com.br.mobiauto.exceptions.ConflictException;
 import com.br.mobiauto.exceptions.NotFoundException;
 import com.br.mobiauto.modules.dealerships.models.Dealership;
 import com.br.mobiauto.modules.dealerships.repositories.DealershipRepository;
+import com.br.mobiauto.modules.opportunities.distribution.AssistantLoadIndex;
 import com.br.mobiauto.modules.users.dtos.UserRequestDTO;
 import com.br.mobiauto.modules.users.dtos.UserResponseDTO;
 import com.br.mobiauto.modules.users.mappers.UserMapper;
 import com.br.mobiauto.modules.users.models.User;
 import com.br.mobiauto.modules.users.models.enums.Role;
 import com.br.mobiauto.modules.users.repositories.UserRepository;
+import com.br.mobiauto.security.passwords.PasswordHashingService;
+import com.br.mobiauto.security.providers.TokenAuthenticationCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,7 +36,13 @@ public class UserServiceTest {
     private DealershipRepository dealershipRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Mock
+    private AssistantLoadIndex assistantLoadIndex;
 
     @InjectMocks
     private UserService userService;
@@ -65,7 +73,7 @@ public class UserServiceTest {
                 .email("john.doe@example.com")
                 .password("encodedPassword")
                 .role(Role.ADMIN)
-                .dealership(dealership)
+                .dealershipId(dealership.getId())
                 .build();
     }
 
@@ -90,11 +98,11 @@ public class UserServiceTest {
     @Test
     void testSaveUser_Success() {
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.empty());
-        when(dealershipRepository.findById("dealership-id")).thenReturn(Optional.of(dealership));
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(true);
+        when(passwordHashingService.hash("password123")).thenReturn("encodedPassword");
 
         User mappedUser = UserMapper.toUserEntity(userRequestDTO);
-        mappedUser.setDealership(dealership);
+        mappedUser.setDealershipId(dealership.getId());
         when(userRepository.save(any(User.class))).thenReturn(mappedUser);
 
         UserResponseDTO result = userService.saveUser(userRequestDTO);
@@ -123,6 +131,27 @@ public class UserServiceTest {
         assertEquals(Role.MANAGER, result.getRole());
     }
 
+    @Test
+    void testUpdateUserRole_RevokesTokensWhenRoleChanges() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.updateUserRole("john.doe@example.com", Role.ASSISTANT);
+
+        verify(tokenAuthenticationCache, times(1)).revokeUser("john.doe@example.com");
+    }
+
+    @Test
+    void testUpdateUserRole_DropsLoadCounterOfFormerAssistant() {
+        user.setRole(Role.ASSISTANT);
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.updateUserRole("john.doe@example.com", Role.MANAGER);
+
+        verify(assistantLoadIndex, times(1)).removeAssistant("1");
+    }
+
     @Test
     void testUpdateUserRole_UserNotFound() {
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.empty());
@@ -136,6 +165,17 @@ public class UserServiceTest {
         doNothing().when(userRepository).delete(user);
 
         assertDoesNotThrow(() -> userService.deleteUser("john.doe@example.com"));
+        verify(tokenAuthenticationCache, times(1)).revokeUser("john.doe@example.com");
+    }
+
+    @Test
+    void testDeleteUser_DropsLoadCounterOfAssistant() {
+        user.setRole(Role.ASSISTANT);
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+        userService.deleteUser("john.doe@example.com");
+
+        verify(assistantLoadIndex, times(1)).removeAssistant("1");
     }
 
     @Test
@@ -148,7 +188,7 @@ public class UserServiceTest {
     @Test
     void testUpdateUser_Success() {
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
-        when(dealershipRepository.findById("dealership-id")).thenReturn(Optional.of(dealership));
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(true);
         when(userRepository.save(any(User.class))).thenReturn(user);
         userRequestDTO.setName("Updated Name");
 
@@ -183,7 +223,7 @@ public class UserServiceTest {
     @Test
     void testUpdateUser_PartialUpdate() {
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
-        when(dealershipRepository.findById("dealership-id")).thenReturn(Optional.of(dealership));
+        when(dealershipRepository.existsById("dealership-id")).thenReturn(true);
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         userRequestDTO.setName(null); // Simulate partial update with only email
@@ -223,7 +263,7 @@ public class UserServiceTest {
                 .email("jane.doe@example.com")
                 .password("encodedPassword")
                 .role(Role.ASSISTANT)
-                .dealership(dealership)
+                .dealershipId(dealership.getId())
                 .build();
         when(userRepository.findAllByDealershipId("dealership-id")).thenReturn(List.of(user, anotherUser));
 
@@ -0,0 +1,93 @@
+package com.br.mobiauto.monitoring;
+
+import com.br.mobiauto.modules.opportunities.models.Opportunity;
+import com.br.mobiauto.modules.opportunities.repositories.OpportunityRepository;
+import com.br.mobiauto.modules.users.models.User;
+import com.br.mobiauto.modules.users.repositories.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexCoverageReportTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @InjectMocks
+    private IndexCoverageReport indexCoverageReport;
+
+    private final List<IndexInfo> indexes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(indexes);
+        indexes.add(index("_id_", "{_id: 1}", null));
+    }
+
+    @Test
+    void testUncoveredQueryMethods_UserIndexesCoverEveryQuery() {
+        indexes.add(index("email", "{email: 1}", null));
+        indexes.add(index("dealershipId", "{dealershipId: 1}", null));
+        indexes.add(index("role_dealership", "{role: 1, dealershipId: 1}", null));
+
+        assertEquals(List.of(), indexCoverageReport.uncoveredQueryMethods(UserRepository.class, User.class));
+    }
+
+    @Test
+    void testUncoveredQueryMethods_ReportsQueriesWithoutLeadingIndexKey() {
+        indexes.add(index("dealershipId", "{dealershipId: 1}", null));
+
+        assertEquals(List.of("UserRepository.findAllByRole", "UserRepository.findByEmail"),
+                indexCoverageReport.uncoveredQueryMethods(UserRepository.class, User.class));
+    }
+
+    @Test
+    void testUncoveredQueryMethods_PartialIndexOnlyServesMatchingQueries() {
+        indexes.add(index("unassigned_id", "{userId: 1, _id: 1}", "{userId: null}"));
+
+        assertEquals(List.of("OpportunityRepository.findAllByUserId"),
+                indexCoverageReport.uncoveredQueryMethods(OpportunityRepository.class, Opportunity.class));
+    }
+
+    @Test
+    void testUncoveredQueryMethods_OpportunityIndexesCoverEveryQuery() {
+        indexes.add(index("user_status", "{userId: 1, status: 1}", null));
+        indexes.add(index("unassigned_id", "{userId: 1, _id: 1}", "{userId: null}"));
+
+        assertEquals(List.of(), indexCoverageReport.uncoveredQueryMethods(OpportunityRepository.class, Opportunity.class));
+    }
+
+    private static IndexInfo index(String name, String keys, String partialFilter) {
+        Document index = new Document("name", name).append("key", Document.parse(keys));
+        if (partialFilter != null) {
+            index.append("partialFilterExpression", Document.parse(partialFilter));
+        }
+        return IndexInfo.indexInfoOf(index);
+    }
+}
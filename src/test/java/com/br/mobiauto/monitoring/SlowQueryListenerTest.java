@@ -0,0 +1,168 @@
+package com.br.mobiauto.monitoring;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlowQueryListenerTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+            new ServerId(new ClusterId(), new ServerAddress()));
+
+    @Mock
+    private ObjectProvider<MongoClient> mongoClientProvider;
+
+    @Mock
+    private MongoClient mongoClient;
+
+    @Mock
+    private MongoDatabase database;
+
+    private SlowQueryLog slowQueryLog;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SlowQueryListener slowQueryListener;
+
+    private int requestId;
+
+    @BeforeEach
+    void setUp() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        slowQueryLog = new SlowQueryLog(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        slowQueryListener = new SlowQueryListener(properties, slowQueryLog, meterRegistry, mongoClientProvider,
+                Runnable::run, Clock.fixed(Instant.parse("2023-07-02T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void testCommandSucceeded_IgnoresFastCommands() {
+        run("find", "{find: 'opportunities', filter: {userId: 'alice'}, $db: 'mobiauto'}", 5);
+
+        assertTrue(slowQueryLog.recent().isEmpty());
+        verifyNoInteractions(mongoClientProvider);
+    }
+
+    @Test
+    void testCommandSucceeded_RecordsCollectionScanWithRedactedShape() {
+        mockExplain(Document.parse("{queryPlanner: {winningPlan: {stage: 'COLLSCAN'}},"
+                + " executionStats: {nReturned: 12, totalKeysExamined: 0, totalDocsExamined: 250000}}"));
+
+        run("find", "{find: 'opportunities', filter: {userId: 'alice'}, sort: {assignedDate: -1},"
+                + " lsid: {id: 1}, $db: 'mobiauto'}", 400);
+
+        List<SlowQuery> slowQueries = slowQueryLog.recent();
+        assertEquals(1, slowQueries.size());
+        SlowQuery slowQuery = slowQueries.get(0);
+        assertEquals("opportunities", slowQuery.collection());
+        assertEquals(400, slowQuery.durationMillis());
+        assertEquals(BsonDocument.parse("{find: 'opportunities', filter: {userId: '?'}, sort: {assignedDate: -1}}"),
+                BsonDocument.parse(slowQuery.shape()));
+        assertEquals(new PlanSummary(PlanSummary.COLLSCAN, null, 0, 250000, 12), slowQuery.plan());
+        assertEquals(1.0, meterRegistry.get("mongodb.slow.queries.collscan").tag("collection", "opportunities").counter().count());
+        verify(database).runCommand(BsonDocument.parse("{explain: {find: 'opportunities', filter: {userId: 'alice'},"
+                + " sort: {assignedDate: -1}}, verbosity: 'executionStats'}"));
+    }
+
+    @Test
+    void testCommandSucceeded_ExplainsEachShapeOncePerInterval() {
+        mockExplain(Document.parse("{queryPlanner: {winningPlan: {stage: 'FETCH',"
+                + " inputStage: {stage: 'IXSCAN', indexName: 'role_1'}}}}"));
+
+        run("find", "{find: 'users', filter: {role: 'ASSISTANT'}, $db: 'mobiauto'}", 150);
+        run("find", "{find: 'users', filter: {role: 'MANAGER'}, $db: 'mobiauto'}", 150);
+
+        List<SlowQuery> slowQueries = slowQueryLog.recent();
+        assertEquals(2, slowQueries.size());
+        assertNull(slowQueries.get(0).plan());
+        assertEquals("role_1", slowQueries.get(1).plan().indexName());
+        assertEquals(2.0, meterRegistry.get("mongodb.slow.queries").tag("collection", "users").counter().count());
+        verify(database, times(1)).runCommand(any(BsonDocument.class));
+        assertTrue(meterRegistry.find("mongodb.slow.queries.collscan").counters().isEmpty());
+    }
+
+    @Test
+    void testCommandSucceeded_FailedExplainStillRecorded() {
+        when(mongoClientProvider.getObject()).thenReturn(mongoClient);
+        when(mongoClient.getDatabase("mobiauto")).thenReturn(database);
+        when(database.runCommand(any(BsonDocument.class))).thenThrow(new IllegalStateException("not primary"));
+
+        run("count", "{count: 'dealerships', query: {}, $db: 'mobiauto'}", 200);
+
+        assertEquals(1, slowQueryLog.recent().size());
+        assertNull(slowQueryLog.recent().get(0).plan());
+    }
+
+    @Test
+    void testCommandSucceeded_ExplainsSingleStatementUpdate() {
+        mockExplain(Document.parse("{queryPlanner: {winningPlan: {stage: 'UPDATE',"
+                + " inputStage: {stage: 'IXSCAN', indexName: '_id_'}}}}"));
+
+        run("update", "{update: 'opportunities', updates: [{q: {_id: 'a'}, u: {$set: {status: 'DONE'}}}],"
+                + " lsid: {id: 1}, $db: 'mobiauto'}", 300);
+
+        verify(database).runCommand(BsonDocument.parse("{explain: {update: 'opportunities',"
+                + " updates: [{q: {_id: 'a'}, u: {$set: {status: 'DONE'}}}]}, verbosity: 'executionStats'}"));
+    }
+
+    @Test
+    void testCommandSucceeded_MultiStatementBatchIsRecordedWithoutExplain() {
+        run("delete", "{delete: 'opportunities', deletes: [{q: {_id: 'a'}, limit: 1}, {q: {_id: 'b'}, limit: 1}],"
+                + " $db: 'mobiauto'}", 300);
+
+        List<SlowQuery> slowQueries = slowQueryLog.recent();
+        assertEquals(1, slowQueries.size());
+        assertEquals(BsonDocument.parse("{delete: 'opportunities', deletes: [{q: {_id: '?'}, limit: '?'}]}"),
+                BsonDocument.parse(slowQueries.get(0).shape()));
+        assertNull(slowQueries.get(0).plan());
+        verifyNoInteractions(mongoClientProvider);
+    }
+
+    @Test
+    void testFrom_ReadsSlotBasedEnginePlansAndAggregateCursors() {
+        PlanSummary plan = PlanSummary.from(Document.parse("{stages: [{$cursor: {"
+                + "queryPlanner: {winningPlan: {queryPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'userId_1_status_1'}}}},"
+                + " executionStats: {nReturned: 3, totalKeysExamined: 3, totalDocsExamined: 3}}}, {$group: {}}]}"));
+
+        assertEquals(new PlanSummary(PlanSummary.IXSCAN, "userId_1_status_1", 3, 3, 3), plan);
+    }
+
+    private void mockExplain(Document explain) {
+        when(mongoClientProvider.getObject()).thenReturn(mongoClient);
+        when(mongoClient.getDatabase("mobiauto")).thenReturn(database);
+        when(database.runCommand(any(BsonDocument.class))).thenReturn(explain);
+    }
+
+    private void run(String commandName, String command, long durationMillis) {
+        requestId++;
+        slowQueryListener.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "mobiauto",
+                commandName, BsonDocument.parse(command)));
+        slowQueryListener.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "mobiauto",
+                commandName, new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(durationMillis)));
+    }
+}
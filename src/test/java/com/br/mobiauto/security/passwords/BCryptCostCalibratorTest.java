@@ -0,0 +1,27 @@
+package com.br.mobiauto.security.passwords;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BCryptCostCalibratorTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testStrengthFor_KeepsMinimumWhenAlreadyOverBudget() {
+        assertEquals(10, BCryptCostCalibrator.strengthFor(300 * MILLIS, 250 * MILLIS, 10, 14));
+    }
+
+    @Test
+    void testStrengthFor_DoublesWhileWithinBudget() {
+        assertEquals(11, BCryptCostCalibrator.strengthFor(100 * MILLIS, 250 * MILLIS, 10, 14));
+    }
+
+    @Test
+    void testStrengthFor_CapsAtMaximum() {
+        assertEquals(14, BCryptCostCalibrator.strengthFor(MILLIS, 250 * MILLIS, 10, 14));
+    }
+}
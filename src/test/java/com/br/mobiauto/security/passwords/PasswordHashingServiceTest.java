@@ -0,0 +1,116 @@
+package com.br.mobiauto.security.passwords;
+
+import com.br.mobiauto.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingProperties properties;
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        passwordHashingService = new PasswordHashingService(encoder(5), properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void testHash_UsesPrefixedEncoding() {
+        String hash = passwordHashingService.hash("password123");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordHashingService.verify("password123", hash).matches());
+    }
+
+    @Test
+    void testVerify_UpgradesLegacyHash() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        PasswordHashingService.PasswordCheck check = passwordHashingService.verify("password123", legacyHash);
+
+        assertTrue(check.matches());
+        assertTrue(check.upgradedHash().startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void testVerify_CurrentHashNeedsNoUpgrade() {
+        PasswordHashingService.PasswordCheck check = passwordHashingService.verify("password123", passwordHashingService.hash("password123"));
+
+        assertTrue(check.matches());
+        assertNull(check.upgradedHash());
+    }
+
+    @Test
+    void testVerify_Mismatch() {
+        assertFalse(passwordHashingService.verify("wrong", passwordHashingService.hash("password123")).matches());
+        assertFalse(passwordHashingService.verify("wrong", null).matches());
+    }
+
+    @Test
+    void testHash_RejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        PasswordHashingService saturated = new PasswordHashingService(blocking, properties, new SimpleMeterRegistry());
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> saturated.hash("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> saturated.hash("second"));
+            while (saturated.queuedTasks() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> saturated.hash("third"));
+
+            release.countDown();
+            assertNotNull(running.get(5, TimeUnit.SECONDS));
+            assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            saturated.shutdown();
+        }
+    }
+
+    private static PasswordEncoder encoder(int strength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+}
@@ -0,0 +1,73 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.br.mobiauto.configs.SchedulingConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JWTProviderSchedulingTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(JWTProviderConfiguration.class)
+            .withPropertyValues("spring.security.jwt.secret=secret");
+
+    @Test
+    void testContext_StartsWithDurationReloadInterval(@TempDir Path directory) throws IOException {
+        Path secretFile = Files.writeString(directory.resolve("jwt-secret"), "from-file\n");
+
+        contextRunner
+                .withPropertyValues("mobiauto.security.jwt.reload-interval=30s",
+                        "mobiauto.security.jwt.secret-file=" + secretFile)
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertNotNull(context.getBean(JWTProvider.class));
+                });
+    }
+
+    @Test
+    void testReloadSecret_RunsOnTheConfiguredInterval(@TempDir Path directory) throws IOException {
+        Path secretFile = Files.writeString(directory.resolve("jwt-secret"), "from-file\n");
+
+        contextRunner
+                .withPropertyValues("mobiauto.security.jwt.reload-interval=50ms",
+                        "mobiauto.security.jwt.secret-file=" + secretFile)
+                .run(context -> {
+                    JWTProvider jwtProvider = context.getBean(JWTProvider.class);
+                    int keyVersion = jwtProvider.getKeyVersion();
+                    Files.writeString(secretFile, "rotated\n");
+
+                    long deadline = System.currentTimeMillis() + 5_000;
+                    while (jwtProvider.getKeyVersion() == keyVersion && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(20);
+                    }
+
+                    String token = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+                    assertNotNull(JWT.require(Algorithm.HMAC256("rotated")).build().verify(token));
+                });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(JWTProperties.class)
+    @Import({SchedulingConfig.class, JWTProvider.class, TokenValidationFailures.class})
+    static class JWTProviderConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
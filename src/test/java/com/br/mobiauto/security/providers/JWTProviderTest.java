@@ -0,0 +1,141 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JWTProviderTest {
+
+    private JWTProperties properties;
+
+    private JWTProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JWTProperties();
+        jwtProvider = new JWTProvider("secret", properties, new TokenValidationFailures(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testValidateToken_RoundTrip() {
+        DecodedJWT decodedJWT = jwtProvider.validateToken(jwtProvider.generateToken("john.doe@example.com", "MANAGER"));
+
+        assertNotNull(decodedJWT);
+        assertEquals("john.doe@example.com", decodedJWT.getSubject());
+        assertEquals("MANAGER", decodedJWT.getClaim("role").asString());
+    }
+
+    @Test
+    void testValidateToken_RejectsForeignIssuer() {
+        String token = JWT.create()
+                .withIssuer("someone-else")
+                .withSubject("john.doe@example.com")
+                .sign(Algorithm.HMAC256("secret"));
+
+        assertNull(jwtProvider.validateToken(token));
+    }
+
+    @Test
+    void testValidateRefreshToken_KeepsAccessAndRefreshTokensApart() {
+        String accessToken = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+        String refreshToken = jwtProvider.generateRefreshToken("john.doe@example.com", Instant.now());
+
+        DecodedJWT decodedRefreshToken = jwtProvider.validateRefreshToken(refreshToken);
+        assertNotNull(decodedRefreshToken);
+        assertNotNull(decodedRefreshToken.getId());
+        assertNull(jwtProvider.validateToken(refreshToken));
+        assertNull(jwtProvider.validateRefreshToken(accessToken));
+    }
+
+    @Test
+    void testGenerateRefreshToken_KeepsSessionStartAndNeverOutlivesTheSession() {
+        Instant sessionStart = Instant.now().minus(Duration.ofHours(20)).truncatedTo(ChronoUnit.SECONDS);
+
+        DecodedJWT refreshToken = jwtProvider.validateRefreshToken(
+                jwtProvider.generateRefreshToken("john.doe@example.com", sessionStart));
+
+        assertEquals(sessionStart, refreshToken.getClaim(JWTProvider.AUTH_TIME_CLAIM).asInstant());
+        assertEquals(sessionStart.plus(properties.getMaxSessionLifetime()), refreshToken.getExpiresAtAsInstant());
+    }
+
+    @Test
+    void testRotateSecret_AcceptsPreviousKeyUntilItsTokensExpire() {
+        String oldToken = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+
+        jwtProvider.rotateSecret("rotated");
+
+        assertNotNull(jwtProvider.validateToken(oldToken));
+        assertNotNull(jwtProvider.validateToken(jwtProvider.generateToken("john.doe@example.com", "MANAGER")));
+    }
+
+    @Test
+    void testRotateSecret_RejectsPreviousKeyOnceRetired() {
+        properties.setAccessTokenTtl(Duration.ZERO);
+        properties.setRefreshTokenTtl(Duration.ZERO);
+        String oldToken = JWT.create().withIssuer(JWTProvider.ISSUER).sign(Algorithm.HMAC256("secret"));
+
+        jwtProvider.rotateSecret("rotated");
+        jwtProvider.rotateSecret("rotated-again");
+
+        assertNull(jwtProvider.validateToken(oldToken));
+    }
+
+    @Test
+    void testReloadSecret_PicksUpChangedFile(@TempDir Path directory) throws IOException {
+        Path secretFile = Files.writeString(directory.resolve("jwt-secret"), "from-file\n");
+        properties.setSecretFile(secretFile);
+        jwtProvider.reloadSecret();
+        String token = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+
+        assertNotNull(JWT.require(Algorithm.HMAC256("from-file")).build().verify(token));
+    }
+
+    @Test
+    void testConstructor_SecretFileReplacesConfiguredSecret(@TempDir Path directory) throws IOException {
+        properties.setSecretFile(Files.writeString(directory.resolve("jwt-secret"), "from-file\n"));
+        jwtProvider = new JWTProvider("secret", properties, new TokenValidationFailures(new SimpleMeterRegistry()));
+        String forged = JWT.create()
+                .withIssuer(JWTProvider.ISSUER)
+                .withSubject("john.doe@example.com")
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                .sign(Algorithm.HMAC256("secret"));
+
+        assertNull(jwtProvider.validateToken(forged));
+        assertNotNull(jwtProvider.validateToken(jwtProvider.generateToken("john.doe@example.com", "MANAGER")));
+    }
+
+    @Test
+    void testConstructor_UnreadableSecretFileFailsStartup(@TempDir Path directory) {
+        properties.setSecretFile(directory.resolve("missing"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new JWTProvider("secret", properties, new TokenValidationFailures(new SimpleMeterRegistry())));
+    }
+
+    @Test
+    void testReloadSecret_KeepsKeyWhenFileDisappears(@TempDir Path directory) throws IOException {
+        Path secretFile = Files.writeString(directory.resolve("jwt-secret"), "from-file\n");
+        properties.setSecretFile(secretFile);
+        jwtProvider = new JWTProvider("secret", properties, new TokenValidationFailures(new SimpleMeterRegistry()));
+        Files.delete(secretFile);
+
+        jwtProvider.reloadSecret();
+
+        String token = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+        assertNotNull(JWT.require(Algorithm.HMAC256("from-file")).build().verify(token));
+    }
+}
@@ -0,0 +1,128 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.br.mobiauto.caching.InMemoryCacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenAuthenticationCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JWTProvider jwtProvider;
+
+    private JWTProperties properties;
+
+    private InMemoryCacheInvalidationBus invalidationBus;
+
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JWTProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationBus = new InMemoryCacheInvalidationBus();
+        jwtProvider = new JWTProvider("secret", properties, new TokenValidationFailures(meterRegistry));
+        tokenAuthenticationCache = new TokenAuthenticationCache(jwtProvider, properties, invalidationBus, meterRegistry);
+    }
+
+    @Test
+    void testAuthenticate_ReusesVerifiedToken() {
+        String token = jwtProvider.generateToken("john.doe@example.com", "manager");
+
+        Authentication first = tokenAuthenticationCache.authenticate(token);
+        Authentication second = tokenAuthenticationCache.authenticate(token);
+
+        assertEquals("john.doe@example.com", first.getName());
+        assertEquals("ROLE_MANAGER", first.getAuthorities().iterator().next().getAuthority());
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.authentications").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testAuthenticate_RejectsInvalidAndExpiredTokens() {
+        String expired = JWT.create()
+                .withIssuer(JWTProvider.ISSUER)
+                .withClaim("role", "MANAGER")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 1000))
+                .sign(Algorithm.HMAC256("secret"));
+
+        assertNull(tokenAuthenticationCache.authenticate("not-a-token"));
+        assertNull(tokenAuthenticationCache.authenticate(expired));
+    }
+
+    @Test
+    void testAuthenticate_RejectsTokenWithoutRole() {
+        String token = JWT.create()
+                .withIssuer(JWTProvider.ISSUER)
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256("secret"));
+
+        assertNull(tokenAuthenticationCache.authenticate(token));
+    }
+
+    @Test
+    void testAuthenticate_VerifiesAgainAfterSecretRotation() {
+        String token = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+        Authentication cached = tokenAuthenticationCache.authenticate(token);
+
+        jwtProvider.rotateSecret("rotated");
+
+        Authentication reverified = tokenAuthenticationCache.authenticate(token);
+        assertNotNull(reverified);
+        assertNotSame(cached, reverified);
+    }
+
+    @Test
+    void testInvalidate_DropsCachedToken() {
+        String token = jwtProvider.generateToken("john.doe@example.com", "MANAGER");
+        Authentication cached = tokenAuthenticationCache.authenticate(token);
+
+        tokenAuthenticationCache.invalidate(token);
+
+        assertNotSame(cached, tokenAuthenticationCache.authenticate(token));
+    }
+
+    @Test
+    void testRevokeUser_RejectsTokensIssuedBefore() {
+        String cachedToken = tokenIssuedSecondsAgo("john.doe@example.com", 5);
+        String uncachedToken = tokenIssuedSecondsAgo("john.doe@example.com", 4);
+        String otherUsersToken = tokenIssuedSecondsAgo("jane.doe@example.com", 5);
+        assertNotNull(tokenAuthenticationCache.authenticate(cachedToken));
+
+        tokenAuthenticationCache.revokeUser("john.doe@example.com");
+
+        assertNull(tokenAuthenticationCache.authenticate(cachedToken));
+        assertNull(tokenAuthenticationCache.authenticate(uncachedToken));
+        assertNotNull(tokenAuthenticationCache.authenticate(otherUsersToken));
+        assertNotNull(tokenAuthenticationCache.authenticate(jwtProvider.generateToken("john.doe@example.com", "MANAGER")));
+    }
+
+    @Test
+    void testRevokeUser_ReplayedOnOtherInstances() {
+        TokenAuthenticationCache otherInstance = new TokenAuthenticationCache(jwtProvider, properties, invalidationBus, meterRegistry);
+        String token = tokenIssuedSecondsAgo("john.doe@example.com", 5);
+        assertNotNull(otherInstance.authenticate(token));
+
+        tokenAuthenticationCache.revokeUser("john.doe@example.com");
+
+        assertNull(otherInstance.authenticate(token));
+    }
+
+    private static String tokenIssuedSecondsAgo(String subject, int seconds) {
+        return JWT.create()
+                .withIssuer(JWTProvider.ISSUER)
+                .withSubject(subject)
+                .withClaim("role", "MANAGER")
+                .withIssuedAt(new Date(System.currentTimeMillis() - seconds * 1000L))
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256("secret"));
+    }
+}
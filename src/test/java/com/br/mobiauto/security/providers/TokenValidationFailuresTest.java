@@ -0,0 +1,50 @@
+package com.br.mobiauto.security.providers;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenValidationFailuresTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenValidationFailures validationFailures;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        validationFailures = new TokenValidationFailures(meterRegistry);
+    }
+
+    @Test
+    void testRecord_CountsPerReason() {
+        validationFailures.record(new TokenExpiredException("expired", Instant.now()));
+        validationFailures.record(new TokenExpiredException("expired", Instant.now()));
+        validationFailures.record(new SignatureVerificationException(Algorithm.HMAC256("secret")));
+        validationFailures.record(new JWTDecodeException("malformed"));
+
+        assertEquals(2.0, count("expired"));
+        assertEquals(1.0, count("bad_signature"));
+        assertEquals(1.0, count("malformed"));
+        assertEquals(0.0, count("invalid_claim"));
+    }
+
+    @Test
+    void testRecord_LogsOncePerReasonAndWindow() {
+        assertTrue(validationFailures.record(new JWTDecodeException("malformed")));
+        assertFalse(validationFailures.record(new JWTDecodeException("malformed")));
+        assertTrue(validationFailures.record(new TokenExpiredException("expired", Instant.now())));
+    }
+
+    private double count(String reason) {
+        return meterRegistry.get("jwt.validation.failures").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,28 @@
+package com.br.mobiauto.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTokenRevocationStoreTest {
+
+    private final InMemoryTokenRevocationStore tokenRevocationStore = new InMemoryTokenRevocationStore();
+
+    @Test
+    void testRevoke_OnlyFirstCallWins() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        assertTrue(tokenRevocationStore.revoke("token-id", expiresAt));
+        assertFalse(tokenRevocationStore.revoke("token-id", expiresAt));
+        assertTrue(tokenRevocationStore.isRevoked("token-id"));
+        assertFalse(tokenRevocationStore.isRevoked("other-id"));
+    }
+
+    @Test
+    void testRevoke_ExpiredTokenIsNotKept() {
+        assertTrue(tokenRevocationStore.revoke("token-id", Instant.now().minusSeconds(1)));
+        assertFalse(tokenRevocationStore.isRevoked("token-id"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.br.mobiauto.security.throttling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryLoginAttemptStoreTest {
+
+    private static final long WINDOW_MILLIS = Duration.ofMinutes(10).toMillis();
+
+    private MutableClock clock;
+
+    private InMemoryLoginAttemptStore loginAttemptStore;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setWindow(Duration.ofMillis(WINDOW_MILLIS));
+        clock = new MutableClock(WINDOW_MILLIS * 1000);
+        loginAttemptStore = new InMemoryLoginAttemptStore(properties, clock);
+    }
+
+    @Test
+    void testReserve_CountsWithinCurrentBucket() {
+        assertEquals(1.0, loginAttemptStore.reserve("account:john"));
+        assertEquals(2.0, loginAttemptStore.reserve("account:john"));
+        assertEquals(1.0, loginAttemptStore.reserve("account:jane"));
+    }
+
+    @Test
+    void testReserve_PreviousBucketFadesOutAcrossTheWindow() {
+        loginAttemptStore.reserve("account:john");
+        loginAttemptStore.reserve("account:john");
+
+        clock.advance(WINDOW_MILLIS + WINDOW_MILLIS / 4);
+        assertEquals(2.5, loginAttemptStore.reserve("account:john"), 0.001);
+
+        clock.advance(WINDOW_MILLIS);
+        assertEquals(1.75, loginAttemptStore.reserve("account:john"), 0.001);
+    }
+
+    @Test
+    void testRelease_TakesBackAReservationButNotBelowZero() {
+        loginAttemptStore.reserve("account:john");
+        loginAttemptStore.reserve("account:john");
+
+        loginAttemptStore.release("account:john");
+        assertEquals(2.0, loginAttemptStore.reserve("account:john"));
+
+        clock.advance(WINDOW_MILLIS);
+        loginAttemptStore.release("account:john");
+        assertEquals(3.0, loginAttemptStore.reserve("account:john"), 0.001);
+    }
+
+    @Test
+    void testReset_ForgetsKey() {
+        loginAttemptStore.reserve("account:john");
+
+        loginAttemptStore.reset("account:john");
+
+        assertEquals(1.0, loginAttemptStore.reserve("account:john"));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
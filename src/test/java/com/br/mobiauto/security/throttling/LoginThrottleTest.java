@@ -0,0 +1,118 @@
+package com.br.mobiauto.security.throttling;
+
+import com.br.mobiauto.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginThrottleTest {
+
+    @Mock
+    private LoginAttemptStore loginAttemptStore;
+
+    @Spy
+    private LoginThrottleProperties properties = new LoginThrottleProperties();
+
+    @InjectMocks
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxFailuresPerAccount(5);
+        properties.setMaxFailuresPerIp(50);
+    }
+
+    @Test
+    void testReserveAttempt_UnderLimits() {
+        when(loginAttemptStore.reserve("account:john@example.com")).thenReturn(5.0);
+        when(loginAttemptStore.reserve("ip:10.0.0.1")).thenReturn(50.0);
+
+        assertDoesNotThrow(() -> loginThrottle.reserveAttempt("John@Example.com", "10.0.0.1"));
+        verify(loginAttemptStore, never()).release(anyString());
+    }
+
+    @Test
+    void testReserveAttempt_AccountLimitReachedReleasesBothReservations() {
+        when(loginAttemptStore.reserve("account:john@example.com")).thenReturn(6.0);
+        when(loginAttemptStore.reserve("ip:10.0.0.1")).thenReturn(1.0);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.reserveAttempt("john@example.com", "10.0.0.1"));
+        assertEquals(900, exception.getRetryAfterSeconds());
+        verify(loginAttemptStore, times(1)).release("account:john@example.com");
+        verify(loginAttemptStore, times(1)).release("ip:10.0.0.1");
+    }
+
+    @Test
+    void testReserveAttempt_AddressLimitReached() {
+        when(loginAttemptStore.reserve("account:john@example.com")).thenReturn(1.0);
+        when(loginAttemptStore.reserve("ip:10.0.0.1")).thenReturn(51.0);
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.reserveAttempt("john@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void testReserveAttempt_DisabledLimitIsNotCounted() {
+        properties.setMaxFailuresPerIp(0);
+        when(loginAttemptStore.reserve("account:john@example.com")).thenReturn(1.0);
+
+        loginThrottle.reserveAttempt("john@example.com", "10.0.0.1");
+
+        verify(loginAttemptStore, never()).reserve("ip:10.0.0.1");
+    }
+
+    @Test
+    void testReserveAttempt_ConcurrentGuessesStopAtTheLimit() throws InterruptedException {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(properties);
+        LoginThrottle throttle = new LoginThrottle(store, properties);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        for (int i = 0; i < 32; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    throttle.reserveAttempt("john@example.com", "10.0.0.1");
+                    admitted.incrementAndGet();
+                } catch (TooManyRequestsException | InterruptedException ignored) {
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(5, admitted.get());
+    }
+
+    @Test
+    void testRecordSuccess_ResetsAccountAndReleasesAddress() {
+        loginThrottle.recordSuccess("john@example.com", "10.0.0.1");
+
+        verify(loginAttemptStore, times(1)).reset("account:john@example.com");
+        verify(loginAttemptStore, times(1)).release("ip:10.0.0.1");
+        verifyNoMoreInteractions(loginAttemptStore);
+    }
+
+    @Test
+    void testReleaseAttempt_ReleasesAccountAndAddress() {
+        loginThrottle.releaseAttempt("john@example.com", null);
+
+        verify(loginAttemptStore, times(1)).release("account:john@example.com");
+        verifyNoMoreInteractions(loginAttemptStore);
+    }
+}